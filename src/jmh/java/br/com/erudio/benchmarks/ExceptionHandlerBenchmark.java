@@ -0,0 +1,52 @@
+package br.com.erudio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import br.com.erudio.exceptions.ExceptionResponse;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+
+// Cost of a not found answer: building the exception (stack trace included) and the error body
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+	private CustomizedResponseEntityExceptionHandler handler;
+	private WebRequest request;
+
+	@Setup
+	public void setup() {
+		handler = new CustomizedResponseEntityExceptionHandler();
+		request = new ServletWebRequest(new MockHttpServletRequest("GET", "/person/1"));
+	}
+
+	@Benchmark
+	public ResponseEntity<ExceptionResponse> handleNotFoundException() {
+		return handler.handleNotFoundExceptions(new ResourceNotFoundException("No records found this id!"), request);
+	}
+
+	@Benchmark
+	public ResponseEntity<ExceptionResponse> handleUnexpectedException() {
+		return handler.handleAllExceptions(new IllegalStateException("Unexpected failure"), request);
+	}
+
+}
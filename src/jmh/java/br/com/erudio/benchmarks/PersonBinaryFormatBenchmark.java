@@ -0,0 +1,84 @@
+package br.com.erudio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+import br.com.erudio.model.Person;
+
+// Cost of a Person payload in each format /person can negotiate; the payload size of every
+// format is logged once per fork
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonBinaryFormatBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonBinaryFormatBenchmark.class);
+
+	@Param({ "json", "cbor", "protobuf" })
+	private String format;
+
+	private Person person;
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private byte[] payload;
+
+	@Setup
+	public void setup() throws Exception {
+		person = new Person(1L, "Leandro", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male",
+				"leandro@erudio.com.br");
+		person.setVersion(3L);
+
+		ObjectMapper mapper = switch (format) {
+			case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+			case "protobuf" -> new ProtobufMapper();
+			default -> Jackson2ObjectMapperBuilder.json().build();
+		};
+
+		if (mapper instanceof ProtobufMapper protobufMapper) {
+			ProtobufSchema schema = protobufMapper.generateSchemaFor(Person.class);
+			writer = mapper.writer(schema);
+			reader = mapper.readerFor(Person.class).with(schema);
+		} else {
+			writer = mapper.writer();
+			reader = mapper.readerFor(Person.class);
+		}
+
+		payload = writer.writeValueAsBytes(person);
+		logger.info("{} payload: {} bytes", format, payload.length);
+	}
+
+	@Benchmark
+	public byte[] serializePerson() throws Exception {
+		return writer.writeValueAsBytes(person);
+	}
+
+	@Benchmark
+	public Person deserializePerson() throws Exception {
+		return reader.readValue(payload);
+	}
+
+}
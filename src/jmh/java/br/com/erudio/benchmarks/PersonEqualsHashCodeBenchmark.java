@@ -0,0 +1,83 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.erudio.model.Person;
+
+// Person.equals/hashCode as used by hash based collections holding 10k entities
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonEqualsHashCodeBenchmark {
+
+	private static final int SIZE = 10_000;
+
+	private List<Person> people;
+	private Set<Person> personSet;
+	private Map<Person, Integer> personMap;
+	private Person present;
+	private Person absent;
+
+	@Setup
+	public void setup() {
+		people = new ArrayList<>(SIZE);
+		for (long id = 1; id <= SIZE; id++) {
+			people.add(new Person(id, "Leandro", "Costa", "Uberlândia", "Male", "leandro" + id + "@erudio.com.br"));
+		}
+		personSet = new HashSet<>(people);
+		personMap = new HashMap<>();
+		for (int i = 0; i < people.size(); i++) {
+			personMap.put(people.get(i), i);
+		}
+
+		present = new Person((long) SIZE / 2, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+		absent = new Person((long) SIZE * 2, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+	}
+
+	@Benchmark
+	public int hashCodeOfPerson() {
+		return present.hashCode();
+	}
+
+	@Benchmark
+	public boolean setContainsPresent() {
+		return personSet.contains(present);
+	}
+
+	@Benchmark
+	public boolean setContainsAbsent() {
+		return personSet.contains(absent);
+	}
+
+	@Benchmark
+	public Integer mapGet() {
+		return personMap.get(present);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Set<Person> buildSet() {
+		return new HashSet<>(people);
+	}
+
+}
@@ -0,0 +1,90 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.loadtests.LoadTestApplication;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonService;
+
+// findAll over 100k rows inside a read-write transaction, as it ran before PersonService became
+// read-only, and inside the read-only transaction it uses now. Run with the jmh profile, whose
+// gc profiler reports the bytes allocated per call next to the latency. The views benchmarks
+// select the same rows as PersonView records, and as two columns only, without managed entities
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PersonFindAllBenchmark {
+
+	private static final int ROWS = 100_000;
+
+	@Param({ "read-write", "read-only" })
+	private String transaction;
+
+	private ConfigurableApplicationContext context;
+	private PersonRepository repository;
+	private TransactionTemplate transactionTemplate;
+
+	@Setup
+	public void setup() {
+		context = LoadTestApplication.start("find-all-benchmark", "--spring.main.web-application-type=none",
+				"--logging.level.br.com.erudio=WARN");
+		repository = context.getBean(PersonRepository.class);
+
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		transactionTemplate.setReadOnly("read-only".equals(transaction));
+
+		PersonService service = context.getBean(PersonService.class);
+		for (int start = 0; start < ROWS; start += PersonService.BATCH_CHUNK_SIZE) {
+			List<Person> chunk = new ArrayList<>(PersonService.BATCH_CHUNK_SIZE);
+			for (int i = start; i < start + PersonService.BATCH_CHUNK_SIZE; i++) {
+				chunk.add(new Person("Leandro", "Costa", "Uberlândia", "Male", "leandro" + i + "@erudio.com.br"));
+			}
+			service.createAll(chunk);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Person> findAll() {
+		return transactionTemplate.execute(status -> repository.findAll());
+	}
+
+	@Benchmark
+	public List<PersonView> findAllViews() {
+		return transactionTemplate.execute(status -> repository.findAllViews());
+	}
+
+	@Benchmark
+	public List<PersonView> selectFields() {
+		return transactionTemplate.execute(status -> repository.selectFields(Set.of("firstName", "email")));
+	}
+
+}
@@ -0,0 +1,102 @@
+package br.com.erudio.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import br.com.erudio.model.Person;
+
+// Person JSON round trips with an ObjectMapper built the same way Spring Boot builds the application's one,
+// with and without the Blackbird module, plus the cost of gzipping a list response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonJsonBenchmark {
+
+	@Param({ "default", "blackbird" })
+	private String mapper;
+
+	private ObjectMapper objectMapper;
+	private ByteArrayOutputStream buffer;
+	private byte[] peopleJson;
+	private Person person;
+	private String personJson;
+	private List<Person> people;
+
+	@Setup
+	public void setup() throws Exception {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		if ("blackbird".equals(mapper)) {
+			builder.modulesToInstall(new BlackbirdModule());
+		}
+		objectMapper = builder.build();
+		buffer = new ByteArrayOutputStream(256 * 1024);
+
+		person = new Person(1L, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+		personJson = objectMapper.writeValueAsString(person);
+
+		people = new ArrayList<>();
+		for (long id = 1; id <= 1000; id++) {
+			people.add(new Person(id, "Leandro", "Costa", "Uberlândia", "Male", "leandro" + id + "@erudio.com.br"));
+		}
+		peopleJson = objectMapper.writeValueAsBytes(people);
+	}
+
+	@Benchmark
+	public byte[] serializePerson() throws Exception {
+		return objectMapper.writeValueAsBytes(person);
+	}
+
+	@Benchmark
+	public Person deserializePerson() throws Exception {
+		return objectMapper.readValue(personJson, Person.class);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public byte[] serializeThousandPeople() throws Exception {
+		return objectMapper.writeValueAsBytes(people);
+	}
+
+	// Same list written into a buffer kept between calls instead of a new byte[] per response
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int serializeThousandPeopleToReusedBuffer() throws Exception {
+		buffer.reset();
+		objectMapper.writeValue(buffer, people);
+		return buffer.size();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int gzipThousandPeople() throws IOException {
+		buffer.reset();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+			gzip.write(peopleJson);
+		}
+		return buffer.size();
+	}
+
+}
@@ -0,0 +1,89 @@
+package br.com.erudio.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.loadtests.LoadTestApplication;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonService;
+
+// PersonService through its Spring proxies (caching, transactions) against an embedded H2 database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonServiceBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private PersonService service;
+	private Person person;
+	private final AtomicLong sequence = new AtomicLong();
+
+	@Setup
+	public void setup() {
+		context = LoadTestApplication.start("service-benchmark", "--spring.main.web-application-type=none",
+				"--logging.level.br.com.erudio=WARN");
+		service = context.getBean(PersonService.class);
+
+		for (int i = 0; i < 1000; i++) {
+			service.create(newPerson());
+		}
+		person = service.create(newPerson());
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public PersonView findById() {
+		return service.findById(person.getId());
+	}
+
+	@Benchmark
+	public PersonView findFieldsById() {
+		return service.findById(person.getId(), Set.of("firstName", "email"));
+	}
+
+	@Benchmark
+	public List<PersonView> findAfter() {
+		return service.findAfter(0L, 100);
+	}
+
+	@Benchmark
+	public Person create() {
+		return service.create(newPerson());
+	}
+
+	@Benchmark
+	public Person update() {
+		Person updated = new Person(person.getId(), "Leonardo", "Costa", "Uberlândia", "Male",
+				person.getEmail());
+		return service.update(updated);
+	}
+
+	private Person newPerson() {
+		return new Person("Leandro", "Costa", "Uberlândia", "Male",
+				"leandro" + sequence.incrementAndGet() + "@erudio.com.br");
+	}
+
+}
@@ -0,0 +1,105 @@
+package br.com.erudio.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Thread-safe bloom filter over strings. mightContain never answers false for a string that was
+// put, but may answer true for one that was not, with a probability that grows as bits fill up
+public class BloomFilter {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final AtomicLongArray words;
+
+	private final long bitCount;
+
+	private final int hashFunctions;
+
+	public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+		long n = Math.max(expectedInsertions, 1);
+		long bits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		int wordCount = (int) Math.min((bits + 63) / 64, Integer.MAX_VALUE);
+
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = wordCount * 64L;
+		this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+	}
+
+	public void put(String value) {
+		long hash = hash(value);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+
+		for (int i = 1; i <= hashFunctions; i++) {
+			long bit = index(hash1 + (long) i * hash2);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+
+			long current;
+			do {
+				current = words.get(word);
+				if ((current & mask) != 0) {
+					break;
+				}
+			} while (!words.compareAndSet(word, current, current | mask));
+		}
+	}
+
+	public boolean mightContain(String value) {
+		long hash = hash(value);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+
+		for (int i = 1; i <= hashFunctions; i++) {
+			long bit = index(hash1 + (long) i * hash2);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Probability that mightContain answers true for a value never put, estimated from the bits set so far
+	public double expectedFalsePositiveProbability() {
+		return Math.pow((double) setBits() / bitCount, hashFunctions);
+	}
+
+	public long setBits() {
+		long count = 0;
+		for (int i = 0; i < words.length(); i++) {
+			count += Long.bitCount(words.get(i));
+		}
+		return count;
+	}
+
+	public long sizeInBytes() {
+		return words.length() * 8L;
+	}
+
+	public int hashFunctions() {
+		return hashFunctions;
+	}
+
+	// Kirsch-Mitzenmacher: the k indexes are derived from two hashes instead of computing k hashes
+	private long index(long combinedHash) {
+		return (combinedHash & Long.MAX_VALUE) % bitCount;
+	}
+
+	// 64-bit FNV-1a followed by the MurmurHash3 finalizer so both halves are well mixed
+	private static long hash(String value) {
+		long hash = FNV_OFFSET_BASIS;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= FNV_PRIME;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
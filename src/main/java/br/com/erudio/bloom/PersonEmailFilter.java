@@ -0,0 +1,121 @@
+package br.com.erudio.bloom;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.repositories.PersonRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Bloom filter of every e-mail in the person table, so duplicate checks only go to the database
+// for e-mails that may already exist. Deleted or replaced e-mails stay in the filter and only
+// cost a false positive; until the startup build finishes every e-mail is reported as possible.
+// The filter lives in this JVM only: with several instances behind a load balancer, e-mails the
+// others insert after the startup build are unknown here, and a negative only means "not inserted
+// through this instance". PersonService.createAll falls back to per-person inserts when that happens
+@Component
+public class PersonEmailFilter implements MeterBinder {
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonEmailFilter.class);
+
+	@Autowired
+	private PersonRepository repository;
+
+	private final BloomFilter filter;
+
+	private final LongAdder positives = new LongAdder();
+
+	private final LongAdder falsePositives = new LongAdder();
+
+	private volatile boolean ready;
+
+	public PersonEmailFilter(@Value("${app.email-filter.expected-insertions:1000000}") long expectedInsertions,
+			@Value("${app.email-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+		this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+	}
+
+	@Async
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void build() {
+		logger.info("Building the person e-mail filter!");
+		long start = System.nanoTime();
+
+		long count = 0;
+		try (Stream<String> emails = repository.streamEmails()) {
+			for (String email : (Iterable<String>) emails::iterator) {
+				add(email);
+				count++;
+			}
+		}
+
+		ready = true;
+		logger.info("Added {} e-mails to the person e-mail filter in {} ms, {} bytes", count,
+				(System.nanoTime() - start) / 1_000_000, filter.sizeInBytes());
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	// Called before the row is written, so a concurrent check cannot miss an e-mail being inserted
+	public void add(String email) {
+		if (email != null) {
+			filter.put(normalize(email));
+		}
+	}
+
+	// false means the e-mail is certainly not in the table
+	public boolean mightExist(String email) {
+		if (!ready) {
+			return true;
+		}
+
+		boolean mightExist = filter.mightContain(normalize(email));
+		if (mightExist) {
+			positives.increment();
+		}
+		return mightExist;
+	}
+
+	// Reported by the caller once the database said how many possible e-mails did not exist. Like the
+	// positives in mightExist, only counted once the filter is built, so the rate never goes above 1
+	public void recordFalsePositives(int count) {
+		if (ready) {
+			falsePositives.add(count);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("person.email.filter.expected.false.positive.probability", filter,
+				BloomFilter::expectedFalsePositiveProbability).register(registry);
+		Gauge.builder("person.email.filter.false.positive.rate", this, PersonEmailFilter::falsePositiveRate)
+				.description("Share of possible e-mails the database did not have").register(registry);
+		Gauge.builder("person.email.filter.memory", filter, BloomFilter::sizeInBytes).baseUnit("bytes")
+				.register(registry);
+	}
+
+	private double falsePositiveRate() {
+		long possible = positives.sum();
+		return possible == 0 ? 0 : (double) falsePositives.sum() / possible;
+	}
+
+	// The e-mail column uses a case-insensitive collation, so the filter must be too
+	private static String normalize(String email) {
+		return email.toLowerCase(Locale.ROOT);
+	}
+
+}
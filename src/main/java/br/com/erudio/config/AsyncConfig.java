@@ -0,0 +1,12 @@
+package br.com.erudio.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on Spring Boot's applicationTaskExecutor, which switches to
+// virtual threads together with Tomcat when spring.threads.virtual.enabled is true
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+}
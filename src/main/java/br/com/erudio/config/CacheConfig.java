@@ -0,0 +1,33 @@
+package br.com.erudio.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Caches are Caffeine backed, sized and expired through spring.cache.caffeine.spec; with recordStats
+// the hit/miss/eviction counters are published as cache.* metrics on /actuator/metrics
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String PERSON_CACHE = "person";
+
+	// Puts and evictions made inside a transaction only reach the cache after it commits. Evicting
+	// before the commit would let a concurrent findById cache the old row again until it expires
+	@Bean
+	static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+					return new TransactionAwareCacheManagerProxy(cacheManager);
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,82 @@
+package br.com.erudio.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Second-level and query cache regions used by Hibernate, sized from app.hibernate-cache in application.yml.
+// PersonRepository writes with bulk statements, which empty the Person region and the person query
+// results on every update or delete, so these caches pay off for read-mostly traffic only
+@Configuration
+public class HibernateCacheConfig {
+
+	public static final String PERSON_REGION = "br.com.erudio.model.Person";
+	public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+	public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+	@Value("${app.hibernate-cache.person.max-size:10000}")
+	private long personMaxSize;
+
+	@Value("${app.hibernate-cache.person.time-to-live:10m}")
+	private Duration personTimeToLive;
+
+	@Value("${app.hibernate-cache.query-results.max-size:1000}")
+	private long queryResultsMaxSize;
+
+	@Value("${app.hibernate-cache.query-results.time-to-live:5m}")
+	private Duration queryResultsTimeToLive;
+
+	// A manager of its own instead of the provider's default one, which is a JVM-wide singleton: every
+	// application context in the JVM (test contexts included) would share it, and the first one closed
+	// would close it for the others
+	@Bean(destroyMethod = "close")
+	CacheManager hibernateCacheManager() {
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		CacheManager cacheManager = provider.getCacheManager(URI.create("hibernate-" + UUID.randomUUID()),
+				provider.getDefaultClassLoader());
+
+		createRegion(cacheManager, PERSON_REGION, personMaxSize, personTimeToLive);
+		createRegion(cacheManager, QUERY_RESULTS_REGION, queryResultsMaxSize, queryResultsTimeToLive);
+		// Timestamps must outlive every cached query result, so this region is never evicted
+		createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, null, null);
+
+		return cacheManager;
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+	private void createRegion(CacheManager cacheManager, String name, Long maxSize, Duration timeToLive) {
+		if (cacheManager.getCache(name) != null) {
+			return;
+		}
+
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setStatisticsEnabled(true);
+		if (maxSize != null) {
+			configuration.setMaximumSize(OptionalLong.of(maxSize));
+		}
+		if (timeToLive != null) {
+			configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+		}
+
+		cacheManager.createCache(name, configuration);
+	}
+
+}
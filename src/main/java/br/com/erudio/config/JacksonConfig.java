@@ -0,0 +1,20 @@
+package br.com.erudio.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Spring Boot registers every Module bean with the application ObjectMapper. Blackbird replaces
+// the reflective getter and setter calls with generated lambdas; PersonJsonBenchmark compares both
+@Configuration
+@ConditionalOnProperty(name = "app.json.blackbird", havingValue = "true", matchIfMissing = true)
+public class JacksonConfig {
+
+	@Bean
+	BlackbirdModule blackbirdModule() {
+		return new BlackbirdModule();
+	}
+
+}
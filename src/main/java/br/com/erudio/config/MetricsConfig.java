@@ -0,0 +1,20 @@
+package br.com.erudio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Controllers are timed by Spring MVC (http.server.requests) and repositories by Spring Data
+// (spring.data.repository.invocations); this aspect adds the @Timed service methods, tagged
+// with class, method and exception ("none" when the call succeeded)
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+
+}
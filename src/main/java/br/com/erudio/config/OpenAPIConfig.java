@@ -18,7 +18,9 @@ public class OpenAPIConfig {
 				.info(new Info()
 					.title("hello Swagger OpenAPI")
 					.version("v1")
-					.description("Some description about your API")
+					.description("Some description about your API. Person payloads can also be exchanged as "
+							+ "application/cbor, and a single Person as application/x-protobuf, through the "
+							+ "Accept and Content-Type headers")
 					.termsOfService("")
 					.license(new License()
 							.name("Apache 2.0")
@@ -0,0 +1,30 @@
+package br.com.erudio.config;
+
+import java.sql.SQLException;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+// Read-only transactions run on the replica, which may lag behind the primary. They still read the
+// second-level and query caches but never put into them (CacheStoreMode.BYPASS), so a row read just before
+// the replica caught up with a write cannot be cached over the eviction that write caused
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+			throws PersistenceException, SQLException {
+		Object transactionData = super.beginTransaction(entityManager, definition);
+		if (definition.isReadOnly()) {
+			entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+		}
+		return transactionData;
+	}
+
+}
@@ -0,0 +1,40 @@
+package br.com.erudio.config;
+
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.serialization.converter.PersonProtobufHttpMessageConverter;
+
+// Binary alternatives to JSON for service-to-service callers, chosen through Accept and
+// Content-Type: CBOR for every Person payload and Protocol Buffers for a single Person.
+// JSON is listed first in every produces, so it stays the default for Accept: */*
+@Configuration
+public class WebConfig {
+
+	// PersonView carries a @JsonFilter; without a ?fields= selection every property is written
+	@Bean
+	Jackson2ObjectMapperBuilderCustomizer personViewFilterCustomizer() {
+		return builder -> builder.filters(PersonView.filter(Set.of()));
+	}
+
+	// Built from Boot's builder so CBOR gets the same modules and settings as the JSON mapper;
+	// replaces the converter Spring MVC would otherwise create with a bare mapper
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	PersonProtobufHttpMessageConverter personProtobufHttpMessageConverter() {
+		return new PersonProtobufHttpMessageConverter();
+	}
+
+}
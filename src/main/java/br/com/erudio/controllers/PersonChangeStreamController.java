@@ -0,0 +1,31 @@
+package br.com.erudio.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.erudio.outbox.PersonChangeBroadcaster;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/person")
+public class PersonChangeStreamController {
+
+	public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+	@Autowired
+	private PersonChangeBroadcaster broadcaster;
+
+	// Live feed for dashboards: every create, update and delete as an event whose id is its sequence.
+	// EventSource sends the last id it saw as Last-Event-ID when it reconnects and resumes from there
+	@GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@RequestHeader(name = LAST_EVENT_ID, required = false) Long lastEventId) {
+		return broadcaster.subscribe(lastEventId);
+	}
+
+}
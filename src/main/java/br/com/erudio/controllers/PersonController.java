@@ -1,62 +1,288 @@
 package br.com.erudio.controllers;
 
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.data.vo.v1.PersonWriteStatusVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.model.Person;
+import br.com.erudio.outbox.PersonChangeFeed;
+import br.com.erudio.serialization.converter.PersonProtobufHttpMessageConverter;
 import br.com.erudio.services.PersonService;
+import br.com.erudio.writebehind.PersonWriteBehindQueue;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/person")
 public class PersonController {
 
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	public static final String RESPOND_ASYNC = "respond-async";
+
 	@Autowired
 	private PersonService personService;
 
-	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public List<Person> findAll() throws Exception {
-		return personService.findAll();
+	@Autowired
+	private PersonWriteBehindQueue writeBehindQueue;
+
+	@Autowired
+	private PersonChangeFeed changeFeed;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// ?fields=firstName,email selects and writes only those columns
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+	public MappingJacksonValue findAll(@RequestParam(name = "fields", required = false) String fields)
+			throws Exception {
+		Set<String> selected = PersonService.fields(fields);
+		if (selected.isEmpty()) {
+			return new MappingJacksonValue(personService.findAll());
+		}
+		return select(personService.findAll(selected), selected);
+	}
+
+	// Keyset page: /person?after=<last id>&limit=N, the cursor for the next page comes back in a header
+	@GetMapping(params = "limit",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+	public ResponseEntity<List<PersonView>> findPage(@RequestParam(name = "after", defaultValue = "0") Long after,
+			@RequestParam(name = "limit") int limit) throws Exception {
+		int pageSize = PersonService.pageSize(limit);
+		List<PersonView> page = personService.findAfter(after, pageSize);
+
+		if (page.size() < pageSize) {
+			return ResponseEntity.ok(page);
+		}
+
+		Long nextCursor = page.get(page.size() - 1).id();
+		return ResponseEntity.ok()
+				.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor))
+				.header("Link", "</person?after=" + nextCursor + "&limit=" + pageSize + ">; rel=\"next\"")
+				.body(page);
 	}
 
-	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Person> findById(@PathVariable(name = "id") Long id) throws Exception {
+	// Writes the whole table as one JSON array, one keyset page at a time, so memory does not grow with the table
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		StreamingResponseBody body = outputStream -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+				generator.writeStartArray();
+
+				List<PersonView> page;
+				Long after = 0L;
+				do {
+					page = personService.findAfter(after, PersonService.MAX_PAGE_SIZE);
+					for (PersonView person : page) {
+						generator.writeObject(person);
+					}
+					generator.flush();
+
+					if (!page.isEmpty()) {
+						after = page.get(page.size() - 1).id();
+					}
+				} while (page.size() == PersonService.MAX_PAGE_SIZE);
+
+				generator.writeEndArray();
+			}
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+
+	// Type-ahead search: every word matches a name, e-mail or address exactly, as a prefix or with typos
+	@GetMapping(value = "/search",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+	public PersonSearchPageVO search(@RequestParam(name = "q") String text,
+			@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "20") int size) {
+		return personService.search(text, page, size);
+	}
+
+	// Incremental deltas instead of full scans: pass the last sequence read as since. Answers at once
+	// when there are newer changes, otherwise waits for the next ones or returns [] after the timeout
+	@GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+	public DeferredResult<List<PersonChangeEventVO>> changes(@RequestParam(name = "since", defaultValue = "0") long since,
+			@RequestParam(name = "limit", defaultValue = "100") int limit) {
+		return changeFeed.changes(since, limit);
+	}
+
+	// Spring answers 304 Not Modified itself when If-None-Match or If-Modified-Since match the validators.
+	// A ?fields= selection is a different representation, it is sent without validators
+	@GetMapping(value = "/{id}",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE })
+	public ResponseEntity<?> findById(@PathVariable(name = "id") Long id,
+			@RequestParam(name = "fields", required = false) String fields) throws Exception {
+		Set<String> selected = PersonService.fields(fields);
+		if (!selected.isEmpty()) {
+			try {
+				return ResponseEntity.ok(select(personService.findById(id, selected), selected));
+			} catch (Exception ex) {
+				return ResponseEntity.notFound().build();
+			}
+		}
+
+		PersonView person;
 		try {
-			return ResponseEntity.ok(personService.findById(id));
+			person = personService.findById(id);
 		} catch (Exception ex) {
 			return ResponseEntity.notFound().build();
 		}
+		return withValidators(ResponseEntity.ok(), person.version(), person.lastModified()).body(person);
+	}
+
+	@PostMapping(
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE },
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE })
+	public ResponseEntity<?> create(@RequestBody Person person,
+			@RequestHeader(name = "Prefer", required = false) String prefer) throws Exception {
+		if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+			return createAsync(person);
+		}
+		return ResponseEntity.ok(personService.create(person));
 	}
 
-	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public Person create(@RequestBody Person person) throws Exception {
-		return personService.create(person);
+	// Prefer: respond-async queues the person and answers 202 with a status URL; 429 when the queue is full
+	private ResponseEntity<PersonWriteStatusVO> createAsync(Person person) {
+		PersonWriteStatusVO status = writeBehindQueue.enqueue(person);
+		return ResponseEntity.accepted()
+				.location(URI.create("/person/queue/" + status.getTicket()))
+				.header("Preference-Applied", RESPOND_ASYNC)
+				.body(status);
 	}
 
-	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Person> update(@RequestBody Person person) throws Exception {
+	// QUEUED until the batch is flushed, then CREATED with the id or REJECTED with the reason
+	@GetMapping(value = "/queue/{ticket}",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+	public PersonWriteStatusVO findQueued(@PathVariable(name = "ticket") String ticket) {
+		return writeBehindQueue.status(ticket);
+	}
+
+	@PostMapping(value = "/batch",
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE },
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+	public List<PersonBatchResultVO> createAll(@RequestBody List<Person> people) throws Exception {
+		return personService.createAll(people);
+	}
+
+	// With If-Match the ETag takes the place of the version in the body and a stale one fails with 412
+	@PutMapping(
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE },
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE })
+	public ResponseEntity<Person> update(@RequestBody Person person,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+		if (ifMatch != null) {
+			person.setVersion(versionFromIfMatch(ifMatch));
+		}
+
+		Person updatedPerson;
 		try {
-			return ResponseEntity.ok(personService.update(person));
+			updatedPerson = personService.update(person);
+		} catch (ResourceConflictException ex) {
+			if (ifMatch != null) {
+				throw new PreconditionFailedException(ex.getMessage());
+			}
+			throw ex;
 		} catch (Exception ex) {
 			return ResponseEntity.notFound().build();
 		}
+		return withValidators(ResponseEntity.ok(), updatedPerson.getVersion(), updatedPerson.getLastModified())
+				.body(updatedPerson);
 	}
 
 	@DeleteMapping(value = "/{id}")
-	public ResponseEntity<?> delete(@PathVariable(name = "id") Long id) throws Exception {
-		personService.delete(id);
+	public ResponseEntity<?> delete(@PathVariable(name = "id") Long id,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+		Long version = ifMatch == null ? null : versionFromIfMatch(ifMatch);
+		if (version == null) {
+			personService.delete(id);
+		} else {
+			try {
+				personService.delete(id, version);
+			} catch (ResourceConflictException ex) {
+				throw new PreconditionFailedException(ex.getMessage());
+			}
+		}
 
 		return ResponseEntity.noContent().build();
 	}
 
+	// Strong ETag from the row version, so it changes on every committed update
+	public static String eTag(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Long version,
+			Instant lastModified) {
+		if (version != null) {
+			builder.eTag(eTag(version));
+		}
+		if (lastModified != null) {
+			builder.lastModified(lastModified);
+		}
+		return builder;
+	}
+
+	// Writes only the selected properties, the columns left out of the query stay null and are dropped
+	private static MappingJacksonValue select(Object body, Set<String> fields) {
+		MappingJacksonValue selection = new MappingJacksonValue(body);
+		selection.setFilters(PersonView.filter(fields));
+		return selection;
+	}
+
+	// "*" matches whatever version is current. Tomcat marks the ETag weak (W/) when it gzips a
+	// response, the version inside is still exact so the prefix is ignored
+	private static Long versionFromIfMatch(String ifMatch) {
+		String tag = ifMatch.trim();
+		if ("*".equals(tag)) {
+			return null;
+		}
+		if (tag.startsWith("W/")) {
+			tag = tag.substring(2);
+		}
+
+		if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+			try {
+				return Long.valueOf(tag.substring(1, tag.length() - 1));
+			} catch (NumberFormatException ex) {
+				// falls through to the precondition failure
+			}
+		}
+		throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version!");
+	}
+
 }
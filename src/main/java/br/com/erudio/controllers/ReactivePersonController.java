@@ -0,0 +1,101 @@
+package br.com.erudio.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonService;
+import br.com.erudio.services.ReactivePersonService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same /person API as PersonController, served by WebFlux when the reactive profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("/person")
+public class ReactivePersonController {
+
+	@Autowired
+	private ReactivePersonService personService;
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public Flux<Person> findAll() {
+		return personService.findAll();
+	}
+
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<List<Person>>> findPage(@RequestParam(name = "after", defaultValue = "0") Long after,
+			@RequestParam(name = "limit") int limit) {
+		int pageSize = PersonService.pageSize(limit);
+
+		return personService.findAfter(after, pageSize).collectList().map(page -> {
+			if (page.size() < pageSize) {
+				return ResponseEntity.ok(page);
+			}
+
+			Long nextCursor = page.get(page.size() - 1).getId();
+			return ResponseEntity.ok()
+					.header(PersonController.NEXT_CURSOR_HEADER, String.valueOf(nextCursor))
+					.header("Link", "</person?after=" + nextCursor + "&limit=" + pageSize + ">; rel=\"next\"")
+					.body(page);
+		});
+	}
+
+	// Each row is written as soon as it is read and the database is only asked for more when
+	// the connection can take it
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Flux<Person> stream() {
+		return personService.findAll();
+	}
+
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<Person> export() {
+		return personService.findAll();
+	}
+
+	@GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<PersonSearchPageVO> search(@RequestParam(name = "q") String text,
+			@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "20") int size) {
+		return personService.search(text, page, size);
+	}
+
+	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<Person>> findById(@PathVariable(name = "id") Long id) {
+		return personService.findById(id).map(ResponseEntity::ok)
+				.onErrorReturn(ResourceNotFoundException.class, ResponseEntity.notFound().build());
+	}
+
+	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> create(@RequestBody Person person) {
+		return personService.create(person);
+	}
+
+	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<Person>> update(@RequestBody Person person) {
+		return personService.update(person).map(ResponseEntity::ok)
+				.onErrorReturn(ResourceNotFoundException.class, ResponseEntity.notFound().build());
+	}
+
+	@DeleteMapping(value = "/{id}")
+	public Mono<ResponseEntity<Void>> delete(@PathVariable(name = "id") Long id) {
+		return personService.delete(id).then(Mono.just(ResponseEntity.noContent().<Void>build()))
+				.onErrorReturn(ResourceNotFoundException.class, ResponseEntity.notFound().build());
+	}
+
+}
@@ -0,0 +1,80 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+
+public class PersonBatchResultVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Status {
+		CREATED, REJECTED
+	}
+
+	private int index;
+	private Long id;
+	private String email;
+	private Status status;
+	private String message;
+
+	public PersonBatchResultVO() {
+
+	}
+
+	public PersonBatchResultVO(int index, Long id, String email, Status status, String message) {
+		super();
+		this.index = index;
+		this.id = id;
+		this.email = email;
+		this.status = status;
+		this.message = message;
+	}
+
+	public static PersonBatchResultVO created(int index, Long id, String email) {
+		return new PersonBatchResultVO(index, id, email, Status.CREATED, null);
+	}
+
+	public static PersonBatchResultVO rejected(int index, String email, String message) {
+		return new PersonBatchResultVO(index, null, email, Status.REJECTED, message);
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+}
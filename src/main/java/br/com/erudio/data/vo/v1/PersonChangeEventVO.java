@@ -0,0 +1,91 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import br.com.erudio.model.PersonChangeEvent;
+
+public class PersonChangeEventVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long sequence;
+	private PersonChangeEvent.Type type;
+	private Long personId;
+	private Long version;
+	private Instant occurredAt;
+	// Already JSON in the outbox, written as is instead of being parsed and serialized again
+	@JsonRawValue
+	private String person;
+
+	public PersonChangeEventVO() {
+
+	}
+
+	public PersonChangeEventVO(long sequence, PersonChangeEvent.Type type, Long personId, Long version,
+			Instant occurredAt, String person) {
+		super();
+		this.sequence = sequence;
+		this.type = type;
+		this.personId = personId;
+		this.version = version;
+		this.occurredAt = occurredAt;
+		this.person = person;
+	}
+
+	public static PersonChangeEventVO of(PersonChangeEvent event) {
+		return new PersonChangeEventVO(event.getPublishSequence(), event.getType(), event.getPersonId(),
+				event.getVersion(), event.getOccurredAt(), event.getPayload());
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
+	public PersonChangeEvent.Type getType() {
+		return type;
+	}
+
+	public void setType(PersonChangeEvent.Type type) {
+		this.type = type;
+	}
+
+	public Long getPersonId() {
+		return personId;
+	}
+
+	public void setPersonId(Long personId) {
+		this.personId = personId;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(Instant occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+
+	public String getPerson() {
+		return person;
+	}
+
+	public void setPerson(String person) {
+		this.person = person;
+	}
+
+}
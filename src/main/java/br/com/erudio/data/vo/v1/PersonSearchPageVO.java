@@ -0,0 +1,59 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class PersonSearchPageVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long total;
+	private int page;
+	private int size;
+	private List<PersonView> people;
+
+	public PersonSearchPageVO() {
+
+	}
+
+	public PersonSearchPageVO(long total, int page, int size, List<PersonView> people) {
+		super();
+		this.total = total;
+		this.page = page;
+		this.size = size;
+		this.people = people;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public void setTotal(long total) {
+		this.total = total;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public List<PersonView> getPeople() {
+		return people;
+	}
+
+	public void setPeople(List<PersonView> people) {
+		this.people = people;
+	}
+
+}
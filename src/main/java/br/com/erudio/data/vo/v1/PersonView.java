@@ -0,0 +1,45 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import br.com.erudio.model.Person;
+
+// Read-only copy of a person row, selected straight into the record instead of loading managed
+// entities. Columns left out of a ?fields= selection stay null; only those responses apply the
+// FIELDS_FILTER that drops them, every other one writes all properties like Person does. The property
+// order matches Person, so both share the same JSON shape and protobuf field numbers
+@JsonFilter(PersonView.FIELDS_FILTER)
+@JsonPropertyOrder({ "id", "firstName", "lastName", "address", "gender", "email", "version" })
+public record PersonView(Long id, String firstName, String lastName, String address, String gender, String email,
+		Long version, @JsonIgnore Instant lastModified) implements Serializable {
+
+	public static final String FIELDS_FILTER = "personViewFields";
+
+	// Properties that can be requested through ?fields=, named like the Person attributes
+	public static final List<String> FIELDS = List.of("id", "firstName", "lastName", "address", "gender", "email",
+			"version");
+
+	// Writes only the selected properties, or all of them for an empty selection. Every mapper that
+	// serializes a PersonView needs one of these, the application mappers get the empty one from WebConfig
+	public static FilterProvider filter(Set<String> fields) {
+		SimpleBeanPropertyFilter filter = fields.isEmpty() ? SimpleBeanPropertyFilter.serializeAll()
+				: SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+		return new SimpleFilterProvider().addFilter(FIELDS_FILTER, filter);
+	}
+
+	public static PersonView of(Person person) {
+		return new PersonView(person.getId(), person.getFirstName(), person.getLastName(), person.getAddress(),
+				person.getGender(), person.getEmail(), person.getVersion(), person.getLastModified());
+	}
+
+}
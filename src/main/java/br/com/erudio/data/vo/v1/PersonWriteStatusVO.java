@@ -0,0 +1,82 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+
+public class PersonWriteStatusVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Status {
+		QUEUED, CREATED, REJECTED
+	}
+
+	private String ticket;
+	private Long id;
+	private String email;
+	private Status status;
+	private String message;
+
+	public PersonWriteStatusVO() {
+
+	}
+
+	public PersonWriteStatusVO(String ticket, Long id, String email, Status status, String message) {
+		super();
+		this.ticket = ticket;
+		this.id = id;
+		this.email = email;
+		this.status = status;
+		this.message = message;
+	}
+
+	public static PersonWriteStatusVO queued(String ticket, String email) {
+		return new PersonWriteStatusVO(ticket, null, email, Status.QUEUED, null);
+	}
+
+	// The outcome of the batch insert the queued person was flushed in
+	public static PersonWriteStatusVO flushed(String ticket, PersonBatchResultVO result) {
+		Status status = result.getStatus() == PersonBatchResultVO.Status.CREATED ? Status.CREATED : Status.REJECTED;
+		return new PersonWriteStatusVO(ticket, result.getId(), result.getEmail(), status, result.getMessage());
+	}
+
+	public String getTicket() {
+		return ticket;
+	}
+
+	public void setTicket(String ticket) {
+		this.ticket = ticket;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+}
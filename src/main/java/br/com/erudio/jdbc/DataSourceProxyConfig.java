@@ -0,0 +1,36 @@
+package br.com.erudio.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Wraps the application DataSource so every statement is counted per thread (QueryCountHolder)
+// and handed to the QueryExecutionListener beans, e.g. SlowQueryListener
+@Configuration
+public class DataSourceProxyConfig {
+
+	@Bean
+	static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+						&& "dataSource".equals(beanName)) {
+					ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName)
+							.countQuery();
+					listeners.orderedStream().forEach(builder::listener);
+					return builder.build();
+				}
+				return bean;
+			}
+		};
+	}
+
+}
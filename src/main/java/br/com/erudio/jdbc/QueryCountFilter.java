@@ -0,0 +1,63 @@
+package br.com.erudio.jdbc;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+// Records how many statements each request ran (http.server.requests.queries) and warns when a
+// request goes over app.jdbc.max-queries-per-request, the usual sign of an N+1 access pattern.
+// QueryCountHolder is thread-local, so only statements run on the request thread are counted: work
+// handed to StreamingResponseBody, DeferredResult or @Async threads does not show up here.
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+	@Value("${app.jdbc.max-queries-per-request:10}")
+	private long maxQueriesPerRequest;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		QueryCountHolder.clear();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			long statements = QueryCountHolder.getGrandTotal().getTotal();
+			QueryCountHolder.clear();
+
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+			MeterRegistry registry = meterRegistry.getIfAvailable();
+			if (registry != null) {
+				DistributionSummary.builder("http.server.requests.queries").baseUnit("statements")
+						.tag("method", request.getMethod()).tag("uri", uri).register(registry).record(statements);
+			}
+
+			if (statements > maxQueriesPerRequest) {
+				logger.warn("{} {} ran {} statements, more than the {} allowed per request", request.getMethod(), uri,
+						statements, maxQueriesPerRequest);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package br.com.erudio.jdbc;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+
+// Logs statements slower than app.jdbc.slow-query-threshold together with their bind parameters
+// and counts them as jdbc.queries.slow, tagged by statement type
+@Component
+public class SlowQueryListener implements QueryExecutionListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowQueryListener.class);
+
+	private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+
+	@Value("${app.jdbc.slow-query-threshold:200ms}")
+	private Duration threshold;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		if (execInfo.getElapsedTime() < threshold.toMillis()) {
+			return;
+		}
+
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		if (registry != null) {
+			for (QueryInfo queryInfo : queryInfoList) {
+				registry.counter("jdbc.queries.slow", "type",
+						QueryUtils.getQueryType(queryInfo.getQuery()).name().toLowerCase()).increment();
+			}
+		}
+
+		logger.warn("Slow query took {} ms: {}", execInfo.getElapsedTime(),
+				logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+	}
+
+}
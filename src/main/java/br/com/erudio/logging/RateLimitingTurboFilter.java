@@ -0,0 +1,70 @@
+package br.com.erudio.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// Caps how many INFO (and finer) events each sampled logger may emit per second. Runs before the
+// event is even created, so a dropped message costs a counter increment. WARN and ERROR are never dropped.
+public class RateLimitingTurboFilter extends TurboFilter {
+
+	private String[] loggers = new String[0];
+	private int maxPerSecond = 100;
+	private LongSupplier clock = System::currentTimeMillis;
+
+	// Per logger: the current one-second window in the high bits, events seen in it in the low 20 bits
+	private final Map<String, AtomicLong> windows = new ConcurrentHashMap<>();
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		// isXxxEnabled() checks carry no message and must not use up the budget
+		if (format == null || level.isGreaterOrEqual(Level.WARN) || !isSampled(logger.getName())) {
+			return FilterReply.NEUTRAL;
+		}
+
+		AtomicLong window = windows.computeIfAbsent(logger.getName(), name -> new AtomicLong());
+		long second = clock.getAsLong() / 1000;
+
+		while (true) {
+			long current = window.get();
+			long count = (current >>> 20) == second ? (current & 0xFFFFF) : 0;
+			if (count >= maxPerSecond) {
+				return FilterReply.DENY;
+			}
+			if (window.compareAndSet(current, (second << 20) | (count + 1))) {
+				return FilterReply.NEUTRAL;
+			}
+		}
+	}
+
+	private boolean isSampled(String loggerName) {
+		for (String prefix : loggers) {
+			if (loggerName.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void setLoggers(String loggers) {
+		this.loggers = loggers.isBlank() ? new String[0] : loggers.trim().split("\\s*,\\s*");
+	}
+
+	public void setMaxPerSecond(int maxPerSecond) {
+		this.maxPerSecond = Math.min(maxPerSecond, 0xFFFFF);
+	}
+
+	// Lets tests move the window without sleeping
+	void setClock(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+}
@@ -1,23 +1,51 @@
 package br.com.erudio.model;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "person")
+// The schema is owned by the Flyway migrations in db/migration; indexes are repeated here for generated schemas
+@Table(name = "person",
+		uniqueConstraints = @UniqueConstraint(name = Person.UNIQUE_EMAIL_CONSTRAINT, columnNames = "email"),
+		indexes = @Index(name = "idx_person_last_name_first_name", columnList = "last_name, first_name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Also numbers the fields of the generated protobuf schema, new properties must go at the end
+@JsonPropertyOrder({ "id", "firstName", "lastName", "address", "gender", "email", "version" })
 public class Person implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	public static final String UNIQUE_EMAIL_CONSTRAINT = "uk_person_email";
+
+	// IDENTITY would force Hibernate to insert row by row; a pooled table generator hands out
+	// ids in blocks so inserts can be grouped into JDBC batches
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@org.springframework.data.annotation.Id // identifier for the R2DBC mapping used by the reactive profile
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "person_id_generator")
+	@TableGenerator(name = "person_id_generator", table = "person_id_sequence", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "person", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "first_name", nullable = false, length = 80)
@@ -35,6 +63,15 @@ public class Person implements Serializable {
 	@Column(nullable = false, length = 100)
 	private String email;
 
+	@Version
+	@Column(nullable = false)
+	private Long version;
+
+	// Only sent as the Last-Modified header, so the JSON representation stays the same
+	@JsonIgnore
+	@Column(name = "last_modified", nullable = false)
+	private Instant lastModified;
+
 	public Person() {
 
 	}
@@ -106,6 +143,34 @@ public class Person implements Serializable {
 		this.email = email;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(Instant lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	// The column keeps microseconds, so the instant handed back matches what is stored
+	public static Instant now() {
+		return Instant.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
+	@PrePersist
+	void onPersist() {
+		if (lastModified == null) {
+			lastModified = now();
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,151 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+// Outbox row for one create, update or delete of a person, see V5__create_person_outbox.sql
+@Entity
+@Table(name = "person_outbox")
+public class PersonChangeEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	// Shares the id generator table with Person, so outbox rows are batched with the people
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "person_outbox_id_generator")
+	@TableGenerator(name = "person_outbox_id_generator", table = "person_id_sequence", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "person_outbox", allocationSize = 50)
+	private Long id;
+
+	// Assigned by the relay, null until then
+	@Column(name = "publish_sequence")
+	private Long publishSequence;
+
+	@Column(name = "person_id", nullable = false)
+	private Long personId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "change_type", nullable = false, length = 10)
+	private Type type;
+
+	private Long version;
+
+	@Column(name = "occurred_at", nullable = false)
+	private Instant occurredAt;
+
+	@Column(name = "published_at")
+	private Instant publishedAt;
+
+	// The person as JSON after the change, null for deletes
+	@Column(length = 1000)
+	private String payload;
+
+	public PersonChangeEvent() {
+
+	}
+
+	public PersonChangeEvent(Long personId, Type type, Long version, Instant occurredAt, String payload) {
+		super();
+		this.personId = personId;
+		this.type = type;
+		this.version = version;
+		this.occurredAt = occurredAt;
+		this.payload = payload;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getPublishSequence() {
+		return publishSequence;
+	}
+
+	public void setPublishSequence(Long publishSequence) {
+		this.publishSequence = publishSequence;
+	}
+
+	public Long getPersonId() {
+		return personId;
+	}
+
+	public void setPersonId(Long personId) {
+		this.personId = personId;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(Instant occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+
+	public Instant getPublishedAt() {
+		return publishedAt;
+	}
+
+	public void setPublishedAt(Instant publishedAt) {
+		this.publishedAt = publishedAt;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		PersonChangeEvent other = (PersonChangeEvent) obj;
+		return Objects.equals(id, other.id);
+	}
+}
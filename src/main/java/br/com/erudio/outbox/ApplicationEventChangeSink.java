@@ -0,0 +1,24 @@
+package br.com.erudio.outbox;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+
+// In-process sink: any @EventListener for PersonChangesPublishedEvent receives every batch,
+// on the relay thread
+@Component
+public class ApplicationEventChangeSink implements PersonChangeSink {
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Override
+	public void publish(List<PersonChangeEventVO> events) {
+		publisher.publishEvent(new PersonChangesPublishedEvent(events));
+	}
+
+}
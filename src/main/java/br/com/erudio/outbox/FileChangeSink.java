@@ -0,0 +1,46 @@
+package br.com.erudio.outbox;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+
+// Appends every event as one JSON line to a local file, for consumers that tail it
+@Component
+@ConditionalOnProperty(name = "app.outbox.file-sink.enabled")
+public class FileChangeSink implements PersonChangeSink {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${app.outbox.file-sink.path:data/person-changes.ndjson}")
+	private Path path;
+
+	@Override
+	public void publish(List<PersonChangeEventVO> events) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+
+		try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND)) {
+			for (PersonChangeEventVO event : events) {
+				writer.write(objectMapper.writeValueAsString(event));
+				writer.write('\n');
+			}
+		}
+	}
+
+}
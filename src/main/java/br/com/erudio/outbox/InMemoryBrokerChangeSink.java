@@ -0,0 +1,52 @@
+package br.com.erudio.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+
+// Stand-in for a message broker topic: keeps the latest events in memory and lets consumers read
+// from an offset (the publish sequence). A Kafka or RabbitMQ sink would take its place
+@Component
+@ConditionalOnProperty(name = "app.outbox.broker-sink.enabled")
+public class InMemoryBrokerChangeSink implements PersonChangeSink {
+
+	private final Deque<PersonChangeEventVO> topic = new ArrayDeque<>();
+
+	@Value("${app.outbox.broker-sink.retained-events:10000}")
+	private int retainedEvents;
+
+	// Repeated events are dropped, the sequence only grows
+	@Override
+	public synchronized void publish(List<PersonChangeEventVO> events) {
+		for (PersonChangeEventVO event : events) {
+			if (!topic.isEmpty() && event.getSequence() <= topic.peekLast().getSequence()) {
+				continue;
+			}
+			topic.addLast(event);
+			if (topic.size() > retainedEvents) {
+				topic.removeFirst();
+			}
+		}
+	}
+
+	public synchronized List<PersonChangeEventVO> poll(long offset, int max) {
+		List<PersonChangeEventVO> events = new ArrayList<>();
+		for (PersonChangeEventVO event : topic) {
+			if (event.getSequence() > offset) {
+				events.add(event);
+				if (events.size() == max) {
+					break;
+				}
+			}
+		}
+		return events;
+	}
+
+}
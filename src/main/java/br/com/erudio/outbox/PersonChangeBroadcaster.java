@@ -0,0 +1,250 @@
+package br.com.erudio.outbox;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.exceptions.ResourceGoneException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.model.PersonChangeEvent;
+import br.com.erudio.repositories.PersonChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+// Server-sent events over the published outbox batches. The relay thread only offers each event
+// to the subscriber buffers; every subscriber is drained by its own virtual thread, so a slow
+// connection only blocks itself. A subscriber whose buffer overflows is evicted, its EventSource
+// reconnects with Last-Event-ID and catches up from the outbox table
+@Component
+public class PersonChangeBroadcaster implements MeterBinder {
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonChangeBroadcaster.class);
+
+	private static final int CATCH_UP_PAGE_SIZE = 500;
+
+	@Autowired
+	private PersonChangeEventRepository repository;
+
+	// Read-write like the relay, so catching up reads the primary and not a lagging replica
+	private final TransactionTemplate transactionTemplate;
+
+	private final Duration timeout;
+
+	private final int bufferSize;
+
+	private final int maxSubscribers;
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private final ExecutorService senders = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("person-live-", 0).factory());
+
+	private Counter evicted;
+
+	public PersonChangeBroadcaster(PlatformTransactionManager transactionManager,
+			@Value("${app.live.timeout:30m}") Duration timeout,
+			@Value("${app.live.buffer-size:256}") int bufferSize,
+			@Value("${app.live.max-subscribers:10000}") int maxSubscribers) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.timeout = timeout;
+		this.bufferSize = bufferSize;
+		this.maxSubscribers = maxSubscribers;
+	}
+
+	// Without lastEventId the stream starts with the next published change, with it every change
+	// after that sequence is sent first; 410 when the retention already deleted some of them
+	public SseEmitter subscribe(Long lastEventId) {
+		return subscribe(new SseEmitter(timeout.toMillis()), lastEventId);
+	}
+
+	SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+		if (subscribers.size() >= maxSubscribers) {
+			throw new TooManyRequestsException("Too many live subscribers, try again later!");
+		}
+		if (lastEventId != null) {
+			Long first = transactionTemplate.execute(status -> repository.findMinPublishSequence());
+			if (first != null && first > lastEventId + 1) {
+				throw new ResourceGoneException(
+						"Changes after " + lastEventId + " are no longer kept, read every person again!");
+			}
+		}
+
+		Subscriber subscriber = new Subscriber(emitter, lastEventId);
+		subscribers.add(subscriber);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(ex -> subscribers.remove(subscriber));
+
+		if (lastEventId != null) {
+			subscriber.schedule();
+		}
+		return emitter;
+	}
+
+	@EventListener
+	public void onPublished(PersonChangesPublishedEvent published) {
+		for (Subscriber subscriber : subscribers) {
+			for (PersonChangeEventVO event : published.events()) {
+				if (!subscriber.buffer.offer(event)) {
+					evict(subscriber);
+					break;
+				}
+			}
+			subscriber.schedule();
+		}
+	}
+
+	// Keeps proxies from closing idle streams and finds the connections that are already gone
+	@Scheduled(fixedRateString = "${app.live.heartbeat-interval-ms:15000}")
+	public void heartbeat() {
+		for (Subscriber subscriber : subscribers) {
+			subscriber.heartbeatDue = true;
+			subscriber.schedule();
+		}
+	}
+
+	public int subscribers() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("person.live.subscribers", subscribers, Set::size).register(registry);
+		evicted = Counter.builder("person.live.evicted")
+				.description("Subscribers dropped because they fell a whole buffer behind").register(registry);
+	}
+
+	@PreDestroy
+	public void stop() {
+		for (Subscriber subscriber : subscribers) {
+			subscriber.emitter.complete();
+		}
+		subscribers.clear();
+		senders.shutdownNow();
+	}
+
+	// The drain may be blocked in a write holding the emitter, so it is completed on another thread
+	private void evict(Subscriber subscriber) {
+		if (subscribers.remove(subscriber)) {
+			if (evicted != null) {
+				evicted.increment();
+			}
+			senders.execute(subscriber.emitter::complete);
+		}
+	}
+
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+
+		private final BlockingQueue<PersonChangeEventVO> buffer = new ArrayBlockingQueue<>(bufferSize);
+
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private volatile boolean heartbeatDue;
+
+		// Only touched by the drain, which never runs twice at the same time
+		private boolean resuming;
+
+		private long lastSent;
+
+		private Subscriber(SseEmitter emitter, Long lastEventId) {
+			this.emitter = emitter;
+			this.resuming = lastEventId != null;
+			this.lastSent = lastEventId == null ? -1 : lastEventId;
+		}
+
+		private void schedule() {
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			try {
+				do {
+					if (resuming) {
+						catchUp(Long.MAX_VALUE);
+						resuming = false;
+					}
+
+					PersonChangeEventVO event;
+					while ((event = buffer.poll()) != null) {
+						// The relay delivers at least once, and catching up may already have sent it
+						if (event.getSequence() <= lastSent) {
+							continue;
+						}
+						if (lastSent >= 0 && event.getSequence() > lastSent + 1) {
+							catchUp(event.getSequence());
+						}
+						send(event);
+					}
+
+					if (heartbeatDue) {
+						heartbeatDue = false;
+						emitter.send(SseEmitter.event().comment("heartbeat"));
+					}
+					draining.set(false);
+				} while ((!buffer.isEmpty() || heartbeatDue) && draining.compareAndSet(false, true));
+			} catch (Exception ex) {
+				// Closed by the client, or it fell behind the retention; either way it reconnects
+				// with Last-Event-ID and gets the rest or a 410
+				logger.debug("Closing a live person change stream", ex);
+				subscribers.remove(this);
+				emitter.complete();
+			}
+		}
+
+		// Sends the events between lastSent and upTo from the outbox table, in order
+		private void catchUp(long upTo) throws IOException {
+			List<PersonChangeEvent> page;
+			do {
+				long after = lastSent;
+				page = transactionTemplate.execute(status -> repository
+						.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(after, Limit.of(CATCH_UP_PAGE_SIZE)));
+				for (PersonChangeEvent row : page) {
+					if (row.getPublishSequence() >= upTo) {
+						return;
+					}
+					if (row.getPublishSequence() > lastSent + 1) {
+						throw new ResourceGoneException("Changes after " + lastSent + " are no longer kept!");
+					}
+					send(PersonChangeEventVO.of(row));
+				}
+			} while (page.size() == CATCH_UP_PAGE_SIZE);
+		}
+
+		private void send(PersonChangeEventVO event) throws IOException {
+			emitter.send(SseEmitter.event()
+					.id(String.valueOf(event.getSequence()))
+					.data(event, MediaType.APPLICATION_JSON));
+			lastSent = event.getSequence();
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+package br.com.erudio.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.exceptions.ResourceGoneException;
+import br.com.erudio.repositories.PersonChangeEventRepository;
+
+// Long poll over the published outbox events for GET /person/changes?since=. A request with
+// nothing newer than since is parked without a thread until the relay publishes the next batch,
+// or answered with an empty list once the timeout passes
+@Component
+public class PersonChangeFeed {
+
+	public static final int MAX_PAGE_SIZE = 1000;
+
+	private record Waiter(long since, int limit, DeferredResult<List<PersonChangeEventVO>> result) {
+	}
+
+	@Autowired
+	private PersonChangeEventRepository repository;
+
+	// Read-write like the relay, so a poll right after a publish reads the primary and not a
+	// lagging replica
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${app.outbox.long-poll-timeout:30s}")
+	private Duration timeout;
+
+	private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+	public PersonChangeFeed(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public DeferredResult<List<PersonChangeEventVO>> changes(long since, int limit) {
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		DeferredResult<List<PersonChangeEventVO>> result = new DeferredResult<>(timeout.toMillis(), List.of());
+
+		// Registered before reading, so a batch published in between still completes it
+		Waiter waiter = new Waiter(since, pageSize, result);
+		waiters.add(waiter);
+		result.onCompletion(() -> waiters.remove(waiter));
+
+		List<PersonChangeEventVO> events = read(since, pageSize);
+		if (!events.isEmpty()) {
+			result.setResult(events);
+		}
+		return result;
+	}
+
+	// Sequences are consecutive, so a batch that starts past since + 1 means the waiter missed
+	// events published earlier; those are read from the table instead
+	@EventListener
+	public void onPublished(PersonChangesPublishedEvent published) {
+		List<PersonChangeEventVO> events = published.events();
+		for (Waiter waiter : waiters) {
+			List<PersonChangeEventVO> page = events.stream()
+					.filter(event -> event.getSequence() > waiter.since())
+					.limit(waiter.limit())
+					.toList();
+			if (page.isEmpty()) {
+				continue;
+			}
+
+			try {
+				if (page.get(0).getSequence() > waiter.since() + 1) {
+					page = read(waiter.since(), waiter.limit());
+				}
+				waiter.result().setResult(page);
+			} catch (ResourceGoneException ex) {
+				waiter.result().setErrorResult(ex);
+			}
+		}
+	}
+
+	public int waiting() {
+		return waiters.size();
+	}
+
+	private List<PersonChangeEventVO> read(long since, int limit) {
+		List<PersonChangeEventVO> events = transactionTemplate.execute(status -> repository
+				.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(since, Limit.of(limit)).stream()
+				.filter(event -> event.getPublishedAt() != null)
+				.map(PersonChangeEventVO::of)
+				.toList());
+
+		// Only the retention cleanup leaves holes in the sequence
+		if (since > 0 && !events.isEmpty() && events.get(0).getSequence() > since + 1) {
+			throw new ResourceGoneException("Changes after " + since + " are no longer kept, read every person again!");
+		}
+		return events;
+	}
+
+}
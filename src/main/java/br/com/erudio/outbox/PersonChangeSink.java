@@ -0,0 +1,14 @@
+package br.com.erudio.outbox;
+
+import java.util.List;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+
+// Destination of the events PersonOutboxRelay publishes, in publish sequence order. Delivery is at
+// least once: a batch is offered again when any sink fails, so sinks must tolerate repeats
+// (the sequence identifies an event)
+public interface PersonChangeSink {
+
+	void publish(List<PersonChangeEventVO> events) throws Exception;
+
+}
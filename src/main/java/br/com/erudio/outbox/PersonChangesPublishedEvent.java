@@ -0,0 +1,10 @@
+package br.com.erudio.outbox;
+
+import java.util.List;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+
+// Spring application event carrying each published batch to in-process listeners
+public record PersonChangesPublishedEvent(List<PersonChangeEventVO> events) {
+
+}
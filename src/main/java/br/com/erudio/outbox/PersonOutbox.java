@@ -0,0 +1,62 @@
+package br.com.erudio.outbox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChangeEvent;
+import br.com.erudio.repositories.PersonChangeEventRepository;
+
+// Writes the change events of PersonService inside the transaction that changes the person, so an
+// event exists exactly when its change was committed. PersonOutboxRelay publishes them afterwards
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class PersonOutbox {
+
+	@Autowired
+	private PersonChangeEventRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	public void created(Person person) {
+		repository.save(event(PersonChangeEvent.Type.CREATED, person));
+	}
+
+	// Saved before the caller flushes, so the events go out in the same JDBC batch flush as the people
+	public void created(Collection<Person> people) {
+		List<PersonChangeEvent> events = new ArrayList<>(people.size());
+		for (Person person : people) {
+			events.add(event(PersonChangeEvent.Type.CREATED, person));
+		}
+		repository.saveAll(events);
+	}
+
+	public void updated(Person person) {
+		repository.save(event(PersonChangeEvent.Type.UPDATED, person));
+	}
+
+	public void deleted(Long id) {
+		repository.save(new PersonChangeEvent(id, PersonChangeEvent.Type.DELETED, null, Person.now(), null));
+	}
+
+	private PersonChangeEvent event(PersonChangeEvent.Type type, Person person) {
+		try {
+			return new PersonChangeEvent(person.getId(), type, person.getVersion(), Person.now(),
+					objectMapper.writeValueAsString(PersonView.of(person)));
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not write the change event of person " + person.getId(), ex);
+		}
+	}
+
+}
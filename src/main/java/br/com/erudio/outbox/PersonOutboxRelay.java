@@ -0,0 +1,141 @@
+package br.com.erudio.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChangeEvent;
+import br.com.erudio.repositories.PersonChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Numbers the committed outbox events with consecutive publish sequences, in the order it finds
+// them, then hands them in batches to every PersonChangeSink and marks them published. Numbering
+// at relay time instead of using the row id means a transaction that commits late can't slip in
+// below a sequence consumers have already read. Everything runs in read-write transactions, so
+// the primary is read and not a lagging replica. With several instances the unique index on
+// publish_sequence lets only one of them number a batch, the others retry on their next run
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", matchIfMissing = true)
+public class PersonOutboxRelay implements MeterBinder {
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonOutboxRelay.class);
+
+	@Autowired
+	private PersonChangeEventRepository repository;
+
+	@Autowired
+	private List<PersonChangeSink> sinks;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+
+	private final Duration retention;
+
+	private Counter published;
+
+	private Counter failures;
+
+	public PersonOutboxRelay(PlatformTransactionManager transactionManager,
+			@Value("${app.outbox.relay.batch-size:500}") int batchSize,
+			@Value("${app.outbox.retention:7d}") Duration retention) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.retention = retention;
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval-ms:200}")
+	public void relay() {
+		try {
+			Integer numbered;
+			do {
+				numbered = transactionTemplate.execute(status -> number());
+			} while (numbered != null && numbered == batchSize);
+
+			List<PersonChangeEvent> pending;
+			do {
+				pending = transactionTemplate.execute(status -> repository
+						.findByPublishSequenceIsNotNullAndPublishedAtIsNullOrderByPublishSequenceAsc(Limit.of(batchSize)));
+				if (pending.isEmpty() || !publish(pending)) {
+					return;
+				}
+			} while (pending.size() == batchSize);
+		} catch (RuntimeException ex) {
+			logger.warn("Could not relay the person change events, retrying on the next run", ex);
+		}
+	}
+
+	// Consumers reading older sequences than the retention get 410 Gone and must read everything again.
+	// The highest sequence is always kept, even past the retention: number() continues from it, and an
+	// empty table would restart at 1 below the since and Last-Event-ID every consumer already holds
+	@Scheduled(fixedDelayString = "${app.outbox.relay.cleanup-interval-ms:3600000}")
+	public void deletePublished() {
+		Integer deleted = transactionTemplate.execute(status -> {
+			Long max = repository.findMaxPublishSequence();
+			return max == null ? 0 : repository.deletePublishedBefore(Instant.now().minus(retention), max);
+		});
+		logger.info("Deleted {} published person change events", deleted);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		published = Counter.builder("person.outbox.published").register(registry);
+		failures = Counter.builder("person.outbox.publish.failures")
+				.description("Batches a sink failed to take, they are offered again").register(registry);
+	}
+
+	private int number() {
+		List<PersonChangeEvent> events = repository.findByPublishSequenceIsNullOrderByIdAsc(Limit.of(batchSize));
+		if (events.isEmpty()) {
+			return 0;
+		}
+
+		Long max = repository.findMaxPublishSequence();
+		long sequence = max == null ? 0 : max;
+		for (PersonChangeEvent event : events) {
+			event.setPublishSequence(++sequence);
+		}
+		return events.size();
+	}
+
+	// A batch is marked published only once every sink took it
+	private boolean publish(List<PersonChangeEvent> pending) {
+		List<PersonChangeEventVO> events = pending.stream().map(PersonChangeEventVO::of).toList();
+		for (PersonChangeSink sink : sinks) {
+			try {
+				sink.publish(events);
+			} catch (Exception ex) {
+				logger.warn("{} could not publish {} person change events", sink.getClass().getSimpleName(),
+						events.size(), ex);
+				if (failures != null) {
+					failures.increment();
+				}
+				return false;
+			}
+		}
+
+		List<Long> ids = pending.stream().map(PersonChangeEvent::getId).toList();
+		Instant now = Person.now();
+		transactionTemplate.executeWithoutResult(status -> repository.markPublished(ids, now));
+		if (published != null) {
+			published.increment(ids.size());
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,43 @@
+package br.com.erudio.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.erudio.model.PersonChangeEvent;
+
+@Repository
+public interface PersonChangeEventRepository extends JpaRepository<PersonChangeEvent, Long> {
+
+	// Written but not numbered by the relay yet
+	List<PersonChangeEvent> findByPublishSequenceIsNullOrderByIdAsc(Limit limit);
+
+	// Numbered but not handed to every sink yet
+	List<PersonChangeEvent> findByPublishSequenceIsNotNullAndPublishedAtIsNullOrderByPublishSequenceAsc(Limit limit);
+
+	// Keyset read of the change feed, the same seek as findByIdGreaterThanOrderByIdAsc on person
+	List<PersonChangeEvent> findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(Long since, Limit limit);
+
+	@Query("select max(e.publishSequence) from PersonChangeEvent e")
+	Long findMaxPublishSequence();
+
+	@Query("select min(e.publishSequence) from PersonChangeEvent e")
+	Long findMinPublishSequence();
+
+	@Modifying
+	@Query("update PersonChangeEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+	int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+	// Sequences from keep on survive, see PersonOutboxRelay.deletePublished
+	@Modifying
+	@Query("delete from PersonChangeEvent e where e.publishedAt < :before and e.publishSequence < :keep")
+	int deletePublishedBefore(@Param("before") Instant before, @Param("keep") Long keep);
+
+}
@@ -1,24 +1,98 @@
 package br.com.erudio.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.erudio.data.vo.v1.PersonView;
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonViewRepository {
+
+	// Read endpoints select straight into PersonView, nothing is hydrated as a managed entity
+	@Query("select new br.com.erudio.data.vo.v1.PersonView(p.id, p.firstName, p.lastName, p.address, p.gender, "
+			+ "p.email, p.version, p.lastModified) from Person p")
+	List<PersonView> findAllViews();
+
+	@Query("select new br.com.erudio.data.vo.v1.PersonView(p.id, p.firstName, p.lastName, p.address, p.gender, "
+			+ "p.email, p.version, p.lastModified) from Person p where p.id = :id")
+	Optional<PersonView> findViewById(@Param("id") Long id);
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Person> findByEmail(String email);
 
+	// Bulk duplicate check: one round trip per batch chunk instead of one findByEmail per person
+	@Query("select p.email from Person p where p.email in :emails")
+	List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+	// Only the e-mail column, streamed like streamAll; used to build the e-mail bloom filter
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select p.email from Person p")
+	Stream<String> streamEmails();
+
+	// Keyset pagination: seeks past the last id already read instead of counting rows with OFFSET
+	List<Person> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	// The same seek for the read endpoints, straight into PersonView
+	@Query("select new br.com.erudio.data.vo.v1.PersonView(p.id, p.firstName, p.lastName, p.address, p.gender, "
+			+ "p.email, p.version, p.lastModified) from Person p where p.id > :after order by p.id")
+	List<PersonView> findViewsAfter(@Param("after") Long after, Limit limit);
+
+	// Single statement update, returns the affected rows; the version check is skipped when no version is given.
+	// Trade-off: Hibernate cannot tell which rows a bulk JPQL statement touched, so this and the deletes below
+	// invalidate the whole Person second-level region and every cached query on person at each write. That
+	// costs less than the select a per-entity write needs only while reads outnumber writes by a wide margin
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Person p set p.firstName = :firstName, p.lastName = :lastName, p.address = :address, "
+			+ "p.gender = :gender, p.email = :email, p.version = p.version + 1, p.lastModified = :lastModified "
+			+ "where p.id = :id and (:version is null or p.version = :version)")
+	int updatePerson(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+			@Param("address") String address, @Param("gender") String gender, @Param("email") String email,
+			@Param("version") Long version, @Param("lastModified") Instant lastModified);
+
+	// Version an unconditional updatePerson just committed to, read back inside the same transaction
+	@Query("select p.version from Person p where p.id = :id")
+	Long findVersionById(@Param("id") Long id);
+
+	// Single statement delete, returns the affected rows
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Person p where p.id = :id")
+	int deletePersonById(@Param("id") Long id);
+
+	// Conditional delete, only removes the row while it still has the given version
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Person p where p.id = :id and p.version = :version")
+	int deletePersonByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+	// MySQL only streams a result set row by row when the fetch size is Integer.MIN_VALUE,
+	// must be consumed inside a transaction and closed afterwards
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select p from Person p order by p.id")
+	Stream<Person> streamAll();
+
 	// Define custom query using JPQL with index parameters
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	@Query("select p from Person p where p.firstName=?1 AND p.lastName=?2")
 	Person findByJPQL(String firstName, String lastName);
 
 	// Define custom query using JPQL with named parameters
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	@Query("select p from Person p where p.firstName=:firstName AND p.lastName=:lastName")
 	Person findByJPQLNamedParameters(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
@@ -0,0 +1,17 @@
+package br.com.erudio.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import br.com.erudio.data.vo.v1.PersonView;
+
+// Column subsets can't be written as a constructor expression, they are built with the Criteria API
+public interface PersonViewRepository {
+
+	// Selects only the given Person attributes, the rest of every view is null
+	List<PersonView> selectFields(Set<String> fields);
+
+	Optional<PersonView> selectFieldsById(Long id, Set<String> fields);
+
+}
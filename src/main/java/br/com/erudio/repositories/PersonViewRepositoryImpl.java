@@ -0,0 +1,66 @@
+package br.com.erudio.repositories;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// The SELECT lists only the requested columns and returns tuples, so no entity is hydrated or
+// tracked by the persistence context. Field names must already be validated against PersonView.FIELDS
+public class PersonViewRepositoryImpl implements PersonViewRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<PersonView> selectFields(Set<String> fields) {
+		return entityManager.createQuery(select(fields, null)).getResultStream()
+				.map(tuple -> toView(tuple, fields))
+				.toList();
+	}
+
+	@Override
+	public Optional<PersonView> selectFieldsById(Long id, Set<String> fields) {
+		return entityManager.createQuery(select(fields, id)).getResultStream()
+				.findFirst()
+				.map(tuple -> toView(tuple, fields));
+	}
+
+	private CriteriaQuery<Tuple> select(Set<String> fields, Long id) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<Person> person = query.from(Person.class);
+
+		List<Selection<?>> selections = fields.stream()
+				.<Selection<?>>map(field -> person.get(field).alias(field))
+				.toList();
+		query.multiselect(selections);
+
+		if (id != null) {
+			query.where(builder.equal(person.get("id"), id));
+		}
+		return query;
+	}
+
+	private static PersonView toView(Tuple tuple, Set<String> fields) {
+		return new PersonView(value(tuple, fields, "id", Long.class), value(tuple, fields, "firstName", String.class),
+				value(tuple, fields, "lastName", String.class), value(tuple, fields, "address", String.class),
+				value(tuple, fields, "gender", String.class), value(tuple, fields, "email", String.class),
+				value(tuple, fields, "version", Long.class), value(tuple, fields, "lastModified", Instant.class));
+	}
+
+	private static <T> T value(Tuple tuple, Set<String> fields, String field, Class<T> type) {
+		return fields.contains(field) ? tuple.get(field, type) : null;
+	}
+
+}
@@ -0,0 +1,33 @@
+package br.com.erudio.repositories;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.erudio.model.Person;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of PersonRepository, only created by the reactive profile. Person is an
+// @Entity, so without the @Profile the JPA repository scan claims this interface and refuses to start
+@Repository
+@Profile("reactive")
+public interface ReactivePersonRepository extends R2dbcRepository<Person, Long> {
+
+	Mono<Person> findByEmail(String email);
+
+	// Rows are emitted as the subscriber requests them, so a slow client throttles the query
+	Flux<Person> findAllByOrderByIdAsc();
+
+	Flux<Person> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	Mono<Person> findByFirstNameAndLastName(String firstName, String lastName);
+
+	// Define custom query using native SQL with named parameters
+	@Query("select * from person p where p.first_name = :firstName and p.last_name = :lastName")
+	Mono<Person> findByNativeSQLNamedParameters(@Param("firstName") String firstName,
+			@Param("lastName") String lastName);
+}
@@ -0,0 +1,336 @@
+package br.com.erudio.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import jakarta.annotation.PreDestroy;
+
+// In-memory Lucene index over name, e-mail and address. It is rebuilt from the table once the
+// application is ready and then kept in sync by PersonService, changes being applied after commit
+// and becoming searchable with the next scheduled refresh.
+// Changes committed while a rebuild pages through the table are held back and replayed once it
+// finishes, so a page read before a delete or an update cannot leave the old row in the index
+@Component
+public class PersonSearchIndex {
+
+	public static final int MAX_PAGE_SIZE = 100;
+
+	// Deeper pages would make every search collect and sort this many hits
+	public static final int MAX_RESULT_WINDOW = 10000;
+
+	private static final int MAX_QUERY_TERMS = 8;
+
+	private static final int REBUILD_PAGE_SIZE = 1000;
+
+	private static final String ID = "id";
+	private static final String FIRST_NAME = "firstName";
+	private static final String LAST_NAME = "lastName";
+	private static final String EMAIL = "email";
+	private static final String ADDRESS = "address";
+	private static final String GENDER = "gender";
+	private static final String VERSION = "version";
+
+	private static final String[] SEARCH_FIELDS = { FIRST_NAME, LAST_NAME, EMAIL, ADDRESS };
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonSearchIndex.class);
+
+	@Autowired
+	private PersonRepository repository;
+
+	// No stop words: "da", "de" or "do" are meaningful inside names and addresses
+	private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+
+	private final IndexWriter writer;
+
+	private final SearcherManager searcherManager;
+
+	// Guards every write to the index; pending is only set while a rebuild runs
+	private final Object lock = new Object();
+
+	private List<IndexOperation> pending;
+
+	public PersonSearchIndex() {
+		try {
+			writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+			searcherManager = new SearcherManager(writer, null);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@Async
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		logger.info("Rebuilding the person search index!");
+		long start = System.nanoTime();
+
+		synchronized (lock) {
+			pending = new ArrayList<>();
+		}
+
+		try {
+			writer.deleteAll();
+
+			long count = 0;
+			Long after = 0L;
+			List<Person> page;
+			do {
+				page = repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(REBUILD_PAGE_SIZE));
+				for (Person person : page) {
+					writer.updateDocument(idTerm(person.getId()), toDocument(person));
+				}
+				count += page.size();
+
+				if (!page.isEmpty()) {
+					after = page.get(page.size() - 1).getId();
+				}
+			} while (page.size() == REBUILD_PAGE_SIZE);
+
+			int replayed = replayPending();
+			searcherManager.maybeRefresh();
+			logger.info("Indexed {} people for search in {} ms, replayed {} concurrent changes", count,
+					(System.nanoTime() - start) / 1_000_000, replayed);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		} finally {
+			synchronized (lock) {
+				pending = null;
+			}
+		}
+	}
+
+	// Applied in commit order on top of the pages read, the newest state of each person wins
+	private int replayPending() throws IOException {
+		synchronized (lock) {
+			for (IndexOperation operation : pending) {
+				operation.run();
+			}
+			int replayed = pending.size();
+			pending = null;
+			return replayed;
+		}
+	}
+
+	public void index(Person person) {
+		index(List.of(person));
+	}
+
+	public void index(Collection<Person> people) {
+		afterCommit(() -> {
+			for (Person person : people) {
+				writer.updateDocument(idTerm(person.getId()), toDocument(person));
+			}
+		});
+	}
+
+	public void delete(Long id) {
+		afterCommit(() -> writer.deleteDocuments(idTerm(id)));
+	}
+
+	// Reopening the searcher on every write would flush a segment per commit; once per interval,
+	// outside the write lock, every change since the last refresh is picked up at once
+	@Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:1000}")
+	public void refresh() {
+		try {
+			searcherManager.maybeRefresh();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	// Every word of the text has to match a field exactly, as a prefix or within a few edits;
+	// exact matches rank above prefixes and prefixes above typos
+	public PersonSearchPageVO search(String text, int page, int size) {
+		int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+		int pageNumber = Math.max(page, 0);
+
+		// Multiplied in long: in int a large ?page= overflows and slips past the window check as a negative offset
+		Query query = buildQuery(text);
+		if (query == null || (long) pageNumber * pageSize >= MAX_RESULT_WINDOW) {
+			return new PersonSearchPageVO(0, pageNumber, pageSize, List.of());
+		}
+		int first = pageNumber * pageSize;
+
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				// Counts every hit: search(query, n) stops counting exactly after 1000 and totalHits
+				// would then only be a lower bound
+				TopDocs topDocs = searcher.search(query,
+						new TopScoreDocCollectorManager(first + pageSize, Integer.MAX_VALUE));
+				StoredFields storedFields = searcher.storedFields();
+
+				List<PersonView> people = new ArrayList<>(pageSize);
+				for (int i = first; i < topDocs.scoreDocs.length; i++) {
+					people.add(toView(storedFields.document(topDocs.scoreDocs[i].doc)));
+				}
+				return new PersonSearchPageVO(topDocs.totalHits.value, pageNumber, pageSize, people);
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		searcherManager.close();
+		writer.close();
+	}
+
+	private Query buildQuery(String text) {
+		List<String> terms = analyze(text);
+		if (terms.isEmpty()) {
+			return null;
+		}
+
+		BooleanQuery.Builder query = new BooleanQuery.Builder();
+		for (String word : terms) {
+			int maxEdits = word.length() < 4 ? 0 : word.length() < 8 ? 1 : 2;
+
+			BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+			for (String field : SEARCH_FIELDS) {
+				Term term = new Term(field, word);
+				anyField.add(new BoostQuery(new TermQuery(term), 4f), Occur.SHOULD);
+				anyField.add(new BoostQuery(new PrefixQuery(term), 2f), Occur.SHOULD);
+				if (maxEdits > 0) {
+					anyField.add(new FuzzyQuery(term, maxEdits, 1), Occur.SHOULD);
+				}
+			}
+			query.add(anyField.build(), Occur.MUST);
+		}
+		return query.build();
+	}
+
+	private List<String> analyze(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+
+		try (TokenStream stream = analyzer.tokenStream(FIRST_NAME, text)) {
+			CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+				terms.add(term.toString());
+			}
+			stream.end();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return terms;
+	}
+
+	private static Term idTerm(Long id) {
+		return new Term(ID, String.valueOf(id));
+	}
+
+	private static Document toDocument(Person person) {
+		Document document = new Document();
+		document.add(new StringField(ID, String.valueOf(person.getId()), Field.Store.YES));
+		addText(document, FIRST_NAME, person.getFirstName());
+		addText(document, LAST_NAME, person.getLastName());
+		addText(document, EMAIL, person.getEmail());
+		addText(document, ADDRESS, person.getAddress());
+		if (person.getGender() != null) {
+			document.add(new StoredField(GENDER, person.getGender()));
+		}
+		if (person.getVersion() != null) {
+			document.add(new StoredField(VERSION, person.getVersion()));
+		}
+		return document;
+	}
+
+	private static void addText(Document document, String field, String value) {
+		if (value != null) {
+			document.add(new TextField(field, value, Field.Store.YES));
+		}
+	}
+
+	private static PersonView toView(Document document) {
+		Long version = document.getField(VERSION) == null ? null : document.getField(VERSION).numericValue().longValue();
+		return new PersonView(Long.valueOf(document.get(ID)), document.get(FIRST_NAME), document.get(LAST_NAME),
+				document.get(ADDRESS), document.get(GENDER), document.get(EMAIL), version, null);
+	}
+
+	// Outside a transaction the change is applied right away
+	private void afterCommit(IndexOperation operation) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(operation);
+				}
+			});
+		} else {
+			apply(operation);
+		}
+	}
+
+	private void apply(IndexOperation operation) {
+		synchronized (lock) {
+			if (pending != null) {
+				pending.add(operation);
+				return;
+			}
+
+			try {
+				operation.run();
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface IndexOperation {
+		void run() throws IOException;
+	}
+
+}
@@ -0,0 +1,81 @@
+package br.com.erudio.serialization.converter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+
+// Reads and writes a single Person or PersonView as a Protocol Buffers message. The schemas are
+// generated from the properties in their @JsonPropertyOrder, which is the same for both classes
+// and fixes the field numbers, so either one can be read back as the other
+public class PersonProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+	public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+	public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+	private final ProtobufMapper mapper = new ProtobufMapper();
+
+	private final Map<Class<?>, ProtobufSchema> schemas;
+
+	public PersonProtobufHttpMessageConverter() {
+		super(APPLICATION_PROTOBUF);
+		mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+		mapper.setFilterProvider(PersonView.filter(Set.of()));
+		schemas = Map.of(Person.class, generateSchema(Person.class), PersonView.class, generateSchema(PersonView.class));
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return schemas.containsKey(clazz) || MappingJacksonValue.class.equals(clazz);
+	}
+
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		try {
+			return mapper.readerFor(clazz).with(schemas.get(clazz)).readValue(inputMessage.getBody());
+		} catch (JsonProcessingException ex) {
+			throw new HttpMessageNotReadableException("Invalid protobuf Person: " + ex.getOriginalMessage(), ex,
+					inputMessage);
+		}
+	}
+
+	@Override
+	protected void writeInternal(Object person, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		// A ?fields= selection arrives wrapped together with its filter
+		if (person instanceof MappingJacksonValue selection) {
+			mapper.writer(schemas.get(selection.getValue().getClass())).with(selection.getFilters())
+					.writeValue(outputMessage.getBody(), selection.getValue());
+			return;
+		}
+		mapper.writer(schemas.get(person.getClass())).writeValue(outputMessage.getBody(), person);
+	}
+
+	private ProtobufSchema generateSchema(Class<?> clazz) {
+		try {
+			return mapper.generateSchemaFor(clazz);
+		} catch (JsonMappingException ex) {
+			throw new IllegalStateException("Could not generate the " + clazz.getSimpleName() + " protobuf schema", ex);
+		}
+	}
+
+}
@@ -1,61 +1,362 @@
 package br.com.erudio.services;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.logging.Logger;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.erudio.bloom.PersonEmailFilter;
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.exceptions.BadRequestException;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Person;
+import br.com.erudio.outbox.PersonOutbox;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
+// Reads run in read-only transactions: Hibernate skips dirty-checking snapshots and flushes, the
+// JDBC connection is marked read-only and served by the replica pool (see DataSourceConfig).
+// Every write method declares its own read-write transaction
 @Service
+@Timed("person.service")
+@Transactional(readOnly = true)
 public class PersonService {
 
-	private Logger logger = Logger.getLogger(PersonService.class.getName());
+	public static final int MAX_PAGE_SIZE = 1000;
+
+	public static final int BATCH_CHUNK_SIZE = 1000;
+
+	private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonService.class);
 	
 	@Autowired
 	private PersonRepository repository;
 
-	public List<Person> findAll() {
-		return repository.findAll();
+	@Autowired
+	private PersonSearchIndex searchIndex;
+
+	@Autowired
+	private PersonEmailFilter emailFilter;
+
+	@Autowired
+	private PersonOutbox outbox;
+
+	// Batch inserts retry in fresh transactions, see createAll
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public List<PersonView> findAll() {
+		return repository.findAllViews();
+	}
+
+	// Only the requested columns are selected, see PersonViewRepositoryImpl
+	public List<PersonView> findAll(Set<String> fields) {
+		return repository.selectFields(fields);
+	}
+
+	public List<PersonView> findAfter(Long after, int limit) {
+		long cursor = after == null ? 0L : after;
+		return repository.findViewsAfter(cursor, Limit.of(pageSize(limit)));
 	}
 
-	public Person findById(Long id) {
+	// Served from the in-memory index, no transaction needed
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public PersonSearchPageVO search(String text, int page, int size) {
+		return searchIndex.search(text, page, size);
+	}
+
+	public static int pageSize(int limit) {
+		return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+	}
+
+	// Parses ?fields=firstName,email keeping the given order; empty when every field is wanted
+	public static Set<String> fields(String fields) {
+		Set<String> selected = new LinkedHashSet<>();
+		if (fields == null) {
+			return selected;
+		}
+
+		for (String field : fields.split(",")) {
+			String name = field.trim();
+			if (name.isEmpty()) {
+				continue;
+			}
+			if (!PersonView.FIELDS.contains(name)) {
+				throw new BadRequestException("Unknown field " + name + ", expected any of " + PersonView.FIELDS);
+			}
+			selected.add(name);
+		}
+		return selected;
+	}
+
+	// Hands every row to the consumer while the cursor is open, clearing the persistence
+	// context periodically so the exported entities can be garbage collected
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<Person> consumer) {
+		logger.info("Exporting all people!");
+
+		try (Stream<Person> people = repository.streamAll()) {
+			int count = 0;
+			Iterator<Person> iterator = people.iterator();
+			while (iterator.hasNext()) {
+				consumer.accept(iterator.next());
+
+				if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+					entityManager.clear();
+				}
+			}
+		}
+	}
+
+	// The cache holds the full view; partial views are selected on every call. Whatever is read here
+	// stays cached until the TTL or the next write, so it reads the primary: a lagging replica could
+	// hand back the row a write just evicted
+	@Transactional
+	@Cacheable(value = CacheConfig.PERSON_CACHE, key = "#id")
+	public PersonView findById(Long id) {
 		logger.info("Finding one person");
-		return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("No records found this id!"));
+		return repository.findViewById(id).orElseThrow(() -> new ResourceNotFoundException("No records found this id!"));
+	}
+
+	public PersonView findById(Long id, Set<String> fields) {
+		logger.info("Finding fields {} of one person", fields);
+		return repository.selectFieldsById(id, fields)
+				.orElseThrow(() -> new ResourceNotFoundException("No records found this id!"));
 	}
 
+	// The unique index on email rejects duplicates, so there is no look-up before the insert
+	// and two concurrent creates with the same e-mail cannot both succeed
+	@Transactional
 	public Person create(Person person) {
 		logger.info("Creating one person!");
-		
-		Optional<Person> savedPerson = repository.findByEmail(person.getEmail());
-		if(savedPerson.isPresent()) {
-			throw new ResourceNotFoundException("Person already exists with given e-mail: " + person.getEmail());
+
+		try {
+			emailFilter.add(person.getEmail());
+			Person savedPerson = repository.saveAndFlush(person);
+			outbox.created(savedPerson);
+			searchIndex.index(savedPerson);
+			return savedPerson;
+		} catch (DataIntegrityViolationException ex) {
+			if (isDuplicatedEmail(ex)) {
+				throw new ResourceNotFoundException("Person already exists with given e-mail: " + person.getEmail());
+			}
+			throw ex;
+		}
+	}
+
+	private static boolean isDuplicatedEmail(DataIntegrityViolationException ex) {
+		String message = ex.getMostSpecificCause().getMessage();
+		return message != null && message.toLowerCase().contains(Person.UNIQUE_EMAIL_CONSTRAINT);
+	}
+
+	// Checks e-mails with one IN query per chunk and inserts each chunk as a JDBC batch,
+	// reporting the outcome of every item in the order it was received. E-mails the bloom
+	// filter has never seen are left out of the IN query, which is skipped when none remain.
+	// The filter only knows this instance's writes, so an e-mail another instance inserted fails
+	// the batch on uk_person_email; it is then rolled back and every person created on its own
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public List<PersonBatchResultVO> createAll(List<Person> people) {
+		logger.info("Creating {} people in batch!", people.size());
+
+		try {
+			return transactionTemplate.execute(status -> insertAll(people));
+		} catch (DataIntegrityViolationException ex) {
+			if (!isDuplicatedEmail(ex)) {
+				throw ex;
+			}
+			logger.warn("E-mail missing from the filter in a batch of {} people, creating them one by one", people.size());
+			return createEach(people);
+		}
+	}
+
+	private List<PersonBatchResultVO> insertAll(List<Person> people) {
+		PersonBatchResultVO[] results = new PersonBatchResultVO[people.size()];
+		Set<String> batchEmails = new HashSet<>();
+
+		for (int start = 0; start < people.size(); start += BATCH_CHUNK_SIZE) {
+			List<Person> chunk = people.subList(start, Math.min(start + BATCH_CHUNK_SIZE, people.size()));
+
+			// Readiness only ever turns on, so when it is on here every positive below was counted by
+			// the filter and the false positives can be reported against them. Each distinct e-mail is
+			// checked once, both sides of the rate count e-mails and not people
+			boolean filterReady = emailFilter.isReady();
+			Set<String> possibleEmails = new HashSet<>();
+			for (Person person : chunk) {
+				if (person.getEmail() != null) {
+					String email = normalizeEmail(person.getEmail());
+					if (!possibleEmails.contains(email) && emailFilter.mightExist(email)) {
+						possibleEmails.add(email);
+					}
+				}
+			}
+
+			Set<String> existingEmails = new HashSet<>();
+			if (!possibleEmails.isEmpty()) {
+				for (String email : repository.findEmailsIn(possibleEmails)) {
+					existingEmails.add(normalizeEmail(email));
+				}
+				if (filterReady) {
+					emailFilter.recordFalsePositives(Math.max(possibleEmails.size() - existingEmails.size(), 0));
+				}
+			}
+
+			List<Person> toInsert = new ArrayList<>(chunk.size());
+			List<Integer> insertedIndexes = new ArrayList<>(chunk.size());
+			for (int i = 0; i < chunk.size(); i++) {
+				Person person = chunk.get(i);
+				int index = start + i;
+
+				if (person.getEmail() == null) {
+					results[index] = PersonBatchResultVO.rejected(index, null, "E-mail is required");
+				} else if (existingEmails.contains(normalizeEmail(person.getEmail()))
+						|| !batchEmails.add(normalizeEmail(person.getEmail()))) {
+					results[index] = PersonBatchResultVO.rejected(index, person.getEmail(),
+							"Person already exists with given e-mail: " + person.getEmail());
+				} else {
+					person.setId(null);
+					person.setVersion(null);
+					emailFilter.add(person.getEmail());
+					toInsert.add(person);
+					insertedIndexes.add(index);
+				}
+			}
+
+			repository.saveAll(toInsert);
+			outbox.created(toInsert);
+			// Through the repository, so a constraint violation is translated like in create
+			repository.flush();
+			entityManager.clear();
+			searchIndex.index(toInsert);
+
+			for (int i = 0; i < toInsert.size(); i++) {
+				Person person = toInsert.get(i);
+				int index = insertedIndexes.get(i);
+				results[index] = PersonBatchResultVO.created(index, person.getId(), person.getEmail());
+			}
+		}
+
+		return Arrays.asList(results);
+	}
+
+	// One transaction per person, the unique index alone decides, as in create
+	private List<PersonBatchResultVO> createEach(List<Person> people) {
+		List<PersonBatchResultVO> results = new ArrayList<>(people.size());
+		for (int i = 0; i < people.size(); i++) {
+			Person person = people.get(i);
+			int index = i;
+
+			if (person.getEmail() == null) {
+				results.add(PersonBatchResultVO.rejected(index, null, "E-mail is required"));
+				continue;
+			}
+
+			try {
+				results.add(transactionTemplate.execute(status -> {
+					person.setId(null);
+					person.setVersion(null);
+					emailFilter.add(person.getEmail());
+					Person savedPerson = repository.saveAndFlush(person);
+					outbox.created(savedPerson);
+					searchIndex.index(savedPerson);
+					return PersonBatchResultVO.created(index, savedPerson.getId(), savedPerson.getEmail());
+				}));
+			} catch (DataIntegrityViolationException ex) {
+				results.add(PersonBatchResultVO.rejected(index, person.getEmail(), isDuplicatedEmail(ex)
+						? "Person already exists with given e-mail: " + person.getEmail()
+						: ex.getMostSpecificCause().getMessage()));
+			}
 		}
-		
-		return repository.save(person);
+		return results;
+	}
+
+	// uk_person_email uses the column's case-insensitive collation, duplicates must be found the same way
+	private static String normalizeEmail(String email) {
+		return email.toLowerCase(Locale.ROOT);
 	}
 
+	// One UPDATE statement instead of select + merge; a stale version is reported as a conflict
+	@Transactional
+	@CacheEvict(value = CacheConfig.PERSON_CACHE, key = "#person.id")
 	public Person update(Person person) {
 
 		logger.info("Updating one person!");
-		Person entity = repository.findById(person.getId()).orElseThrow(() -> new ResourceNotFoundException("No records found this id!"));
-		entity.setFirstName(person.getFirstName());
-		entity.setLastName(person.getLastName());
-		entity.setAddress(person.getAddress());
-		entity.setGender(person.getGender());
-		entity.setEmail(person.getEmail());
-		
-		return repository.save(entity);
+		emailFilter.add(person.getEmail());
+		Instant lastModified = Person.now();
+		int updated = repository.updatePerson(person.getId(), person.getFirstName(), person.getLastName(),
+				person.getAddress(), person.getGender(), person.getEmail(), person.getVersion(), lastModified);
+		if (updated == 0) {
+			if (person.getVersion() != null && person.getId() != null && repository.existsById(person.getId())) {
+				throw new ResourceConflictException("Person was modified by another request, version "
+						+ person.getVersion() + " is stale!");
+			}
+			throw new ResourceNotFoundException("No records found this id!");
+		}
+
+		// Without a version the statement still bumped it; the event, the index and the ETag need the new one
+		person.setVersion(person.getVersion() != null ? person.getVersion() + 1
+				: repository.findVersionById(person.getId()));
+		person.setLastModified(lastModified);
+		outbox.updated(person);
+		searchIndex.index(person);
+		return person;
 	}
 
+	@Transactional
+	@CacheEvict(value = CacheConfig.PERSON_CACHE, key = "#id")
 	public void delete(Long id) {
 
 		logger.info("Deleting one person!");
-		Person person = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("No records found this id!"));
-		repository.delete(person);
+		if (repository.deletePersonById(id) == 0) {
+			throw new ResourceNotFoundException("No records found this id!");
+		}
+		outbox.deleted(id);
+		searchIndex.delete(id);
+	}
+
+	// Deletes only while the row still has the given version, a stale version is reported as a conflict
+	@Transactional
+	@CacheEvict(value = CacheConfig.PERSON_CACHE, key = "#id")
+	public void delete(Long id, Long version) {
+
+		logger.info("Deleting one person at version {}!", version);
+		if (repository.deletePersonByIdAndVersion(id, version) == 0) {
+			if (repository.existsById(id)) {
+				throw new ResourceConflictException("Person was modified by another request, version "
+						+ version + " is stale!");
+			}
+			throw new ResourceNotFoundException("No records found this id!");
+		}
+		outbox.deleted(id);
+		searchIndex.delete(id);
 	}
 }
@@ -0,0 +1,58 @@
+package br.com.erudio.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.ReactivePersonRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@Profile("reactive")
+public class ReactivePersonService {
+
+	@Autowired
+	private ReactivePersonRepository repository;
+
+	// Writes keep going through PersonService so id generation, the version check and cache
+	// eviction stay in one place; they run on the bounded elastic pool, never on an event loop
+	@Autowired
+	private PersonService personService;
+
+	public Flux<Person> findAll() {
+		return repository.findAllByOrderByIdAsc();
+	}
+
+	public Flux<Person> findAfter(Long after, int limit) {
+		long cursor = after == null ? 0L : after;
+		return repository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, PersonService.pageSize(limit)));
+	}
+
+	public Mono<Person> findById(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found this id!")));
+	}
+
+	// The search index lives in memory, so it is queried on the calling thread
+	public Mono<PersonSearchPageVO> search(String text, int page, int size) {
+		return Mono.fromCallable(() -> personService.search(text, page, size));
+	}
+
+	public Mono<Person> create(Person person) {
+		return Mono.fromCallable(() -> personService.create(person)).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	public Mono<Person> update(Person person) {
+		return Mono.fromCallable(() -> personService.update(person)).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	public Mono<Void> delete(Long id) {
+		return Mono.<Void>fromRunnable(() -> personService.delete(id)).subscribeOn(Schedulers.boundedElastic());
+	}
+}
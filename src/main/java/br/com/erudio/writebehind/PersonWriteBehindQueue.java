@@ -0,0 +1,315 @@
+package br.com.erudio.writebehind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonWriteStatusVO;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Opt-in asynchronous creation for POST /person with Prefer: respond-async. A person is accepted
+// once it is on disk in the write-ahead log and queued; one batcher thread drains the queue into
+// PersonService.createAll, so the duplicate check and the inserts run once per batch in a single
+// transaction. A full queue refuses new people instead of growing, and people still in the log
+// at startup (the process stopped before flushing them) are queued again
+@Component
+public class PersonWriteBehindQueue implements MeterBinder {
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonWriteBehindQueue.class);
+
+	private static final long INITIAL_RETRY_DELAY_MS = 100;
+
+	private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+	private record PendingWrite(String ticket, Person person, long segment) {
+	}
+
+	@Autowired
+	private PersonService personService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final Path directory;
+
+	private final long segmentBytes;
+
+	private final int capacity;
+
+	private final int batchSize;
+
+	private final Duration linger;
+
+	private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+	// Outcome by ticket for the status URL, kept for a while after the flush
+	private final Cache<String, PersonWriteStatusVO> statuses;
+
+	// Serializes appends to the log with the capacity check, so a refused person is never logged
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final LongAdder created = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	private final LongAdder refused = new LongAdder();
+
+	private volatile Timer flushTimer;
+
+	private volatile boolean running;
+
+	private WriteAheadLog log;
+
+	private Thread batcher;
+
+	public PersonWriteBehindQueue(@Value("${app.write-behind.directory:data/write-behind}") Path directory,
+			@Value("${app.write-behind.segment-size:16MB}") DataSize segmentSize,
+			@Value("${app.write-behind.capacity:10000}") int capacity,
+			@Value("${app.write-behind.batch-size:500}") int batchSize,
+			@Value("${app.write-behind.linger:50ms}") Duration linger,
+			@Value("${app.write-behind.status-time-to-live:1h}") Duration statusTimeToLive,
+			@Value("${app.write-behind.status-max-size:100000}") long statusMaxSize) {
+		this.directory = directory;
+		this.segmentBytes = segmentSize.toBytes();
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.linger = linger;
+		this.statuses = Caffeine.newBuilder().expireAfterWrite(statusTimeToLive).maximumSize(statusMaxSize).build();
+	}
+
+	@PostConstruct
+	public void start() throws IOException {
+		log = new WriteAheadLog(directory, segmentBytes, objectMapper);
+		log.recover((segment, entry) -> {
+			statuses.put(entry.ticket(), PersonWriteStatusVO.queued(entry.ticket(), entry.person().getEmail()));
+			queue.add(new PendingWrite(entry.ticket(), entry.person(), segment));
+		});
+		if (!queue.isEmpty()) {
+			logger.info("Recovered {} people from the write-ahead log in {}", queue.size(), directory);
+		}
+
+		running = true;
+		batcher = Thread.ofPlatform().name("person-write-behind").daemon().start(this::run);
+	}
+
+	// People left in the queue stay in the log and are flushed after the next start
+	@PreDestroy
+	public void stop() throws IOException, InterruptedException {
+		running = false;
+		batcher.join(MAX_RETRY_DELAY_MS);
+		lock.lock();
+		try {
+			log.close();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public PersonWriteStatusVO enqueue(Person person) {
+		String ticket = UUID.randomUUID().toString();
+		PersonWriteStatusVO status = PersonWriteStatusVO.queued(ticket, person.getEmail());
+
+		lock.lock();
+		try {
+			if (queue.size() >= capacity) {
+				refused.increment();
+				throw new TooManyRequestsException("Too many people waiting to be created, retry later!");
+			}
+
+			long segment = log.append(new WriteAheadLog.Entry(ticket, person));
+			// Before it is queued, so the batcher cannot record the outcome first
+			statuses.put(ticket, status);
+			queue.add(new PendingWrite(ticket, person, segment));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		} finally {
+			lock.unlock();
+		}
+		return status;
+	}
+
+	public PersonWriteStatusVO status(String ticket) {
+		PersonWriteStatusVO status = statuses.getIfPresent(ticket);
+		if (status == null) {
+			throw new ResourceNotFoundException("No queued person found for this ticket!");
+		}
+		return status;
+	}
+
+	public int size() {
+		return queue.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("person.write.behind.queue.depth", queue, BlockingQueue::size)
+				.description("People accepted and not yet flushed to the database").register(registry);
+		Gauge.builder("person.write.behind.queue.capacity", () -> capacity).register(registry);
+		FunctionCounter.builder("person.write.behind.people", created, LongAdder::sum).tag("outcome", "created")
+				.register(registry);
+		FunctionCounter.builder("person.write.behind.people", rejected, LongAdder::sum).tag("outcome", "rejected")
+				.register(registry);
+		FunctionCounter.builder("person.write.behind.people", refused, LongAdder::sum).tag("outcome", "refused")
+				.description("People refused with 429 because the queue was full").register(registry);
+		flushTimer = Timer.builder("person.write.behind.flush").description("Time to insert one batch")
+				.register(registry);
+	}
+
+	// Waits up to the linger time for a batch to fill before flushing it
+	private void run() {
+		List<PendingWrite> batch = new ArrayList<>(batchSize);
+		while (running) {
+			try {
+				PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+				if (first == null) {
+					continue;
+				}
+
+				batch.add(first);
+				long deadline = System.nanoTime() + linger.toNanos();
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+
+				flush(batch);
+				batch.clear();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException ex) {
+				logger.error("Write-behind batcher failed, rejecting the unflushed people of a batch of {}", batch.size(),
+						ex);
+				reject(batch, ex);
+				batch.clear();
+			}
+		}
+	}
+
+	// Only people whose ticket is still queued: the rest of the batch already has its outcome and
+	// its log entries released, releasing those twice could delete a segment other people are in
+	private void reject(List<PendingWrite> batch, RuntimeException ex) {
+		List<PendingWrite> unflushed = new ArrayList<>(batch.size());
+		for (PendingWrite pending : batch) {
+			PersonWriteStatusVO status = statuses.getIfPresent(pending.ticket());
+			if (status != null && status.getStatus() == PersonWriteStatusVO.Status.QUEUED) {
+				rejected.increment();
+				statuses.put(pending.ticket(), new PersonWriteStatusVO(pending.ticket(), null,
+						pending.person().getEmail(), PersonWriteStatusVO.Status.REJECTED, ex.toString()));
+				unflushed.add(pending);
+			}
+		}
+		release(unflushed);
+	}
+
+	// Database outages are retried with backoff until the batch goes through. A constraint violation
+	// other than a duplicate e-mail fails the whole batch, so its people are retried one by one
+	// and only the offending one is rejected
+	private void flush(List<PendingWrite> batch) throws InterruptedException {
+		List<Person> people = batch.stream().map(PendingWrite::person).toList();
+
+		long delay = INITIAL_RETRY_DELAY_MS;
+		while (running) {
+			long start = System.nanoTime();
+			List<PersonBatchResultVO> results;
+			try {
+				results = personService.createAll(people);
+			} catch (DataIntegrityViolationException ex) {
+				if (batch.size() > 1) {
+					for (PendingWrite pending : batch) {
+						flush(List.of(pending));
+					}
+				} else {
+					PendingWrite pending = batch.get(0);
+					rejected.increment();
+					statuses.put(pending.ticket(), new PersonWriteStatusVO(pending.ticket(), null,
+							pending.person().getEmail(), PersonWriteStatusVO.Status.REJECTED,
+							ex.getMostSpecificCause().getMessage()));
+					release(batch);
+				}
+				return;
+			} catch (RuntimeException ex) {
+				logger.warn("Could not flush {} queued people, retrying in {} ms", batch.size(), delay, ex);
+				Thread.sleep(delay);
+				delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+				continue;
+			}
+
+			Timer timer = flushTimer;
+			if (timer != null) {
+				timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+
+			// Past the insert nothing is retried, it would create the people twice. Every outcome is
+			// built before any is recorded, so a failure here leaves the whole batch queued for the
+			// batcher to reject
+			List<PersonWriteStatusVO> outcomes = new ArrayList<>(batch.size());
+			for (int i = 0; i < batch.size(); i++) {
+				outcomes.add(PersonWriteStatusVO.flushed(batch.get(i).ticket(), results.get(i)));
+			}
+			for (PersonWriteStatusVO status : outcomes) {
+				(status.getStatus() == PersonWriteStatusVO.Status.CREATED ? created : rejected).increment();
+				statuses.put(status.getTicket(), status);
+			}
+			release(batch);
+			return;
+		}
+	}
+
+	private void release(List<PendingWrite> batch) {
+		Map<Long, Integer> flushedBySegment = new HashMap<>();
+		for (PendingWrite pending : batch) {
+			flushedBySegment.merge(pending.segment(), 1, Integer::sum);
+		}
+
+		lock.lock();
+		try {
+			flushedBySegment.forEach(log::release);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+}
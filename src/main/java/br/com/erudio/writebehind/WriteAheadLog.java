@@ -0,0 +1,179 @@
+package br.com.erudio.writebehind;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.model.Person;
+
+// Append-only log of accepted people, one JSON line per person, split in numbered segment files.
+// Every append is forced to disk before it returns. A segment is deleted once all of its people
+// were flushed to the database and a newer segment receives the appends or the log is closed;
+// whatever is still on disk at startup was accepted but never flushed and is handed back by
+// recover(). Not thread safe, the caller serializes appends and releases
+class WriteAheadLog implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+	private static final String SEGMENT_PREFIX = "person-";
+
+	private static final String SEGMENT_SUFFIX = ".wal";
+
+	record Entry(String ticket, Person person) {
+	}
+
+	private final Path directory;
+
+	private final long segmentBytes;
+
+	private final ObjectMapper objectMapper;
+
+	private final FileChannel lockChannel;
+
+	private final FileLock lock;
+
+	// People appended to each segment and not yet released
+	private final Map<Long, Integer> pending = new HashMap<>();
+
+	private long segment;
+
+	private FileChannel channel;
+
+	WriteAheadLog(Path directory, long segmentBytes, ObjectMapper objectMapper) throws IOException {
+		this.directory = Files.createDirectories(directory);
+		this.segmentBytes = segmentBytes;
+		this.objectMapper = objectMapper;
+
+		// Two processes appending to the same segments would corrupt them
+		lockChannel = FileChannel.open(directory.resolve("wal.lock"), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE);
+		lock = lockChannel.tryLock();
+		if (lock == null) {
+			lockChannel.close();
+			throw new IllegalStateException("Write-ahead log " + directory + " is used by another process");
+		}
+	}
+
+	// Hands every entry left on disk to the consumer with its segment, oldest first; a torn last
+	// line from a crash is skipped. Appends afterwards go to a new segment
+	void recover(BiConsumer<Long, Entry> consumer) throws IOException {
+		for (long id : segments()) {
+			int count = 0;
+			try (BufferedReader reader = Files.newBufferedReader(segmentPath(id), StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					try {
+						consumer.accept(id, objectMapper.readValue(line, Entry.class));
+						count++;
+					} catch (JsonProcessingException ex) {
+						logger.warn("Skipping unreadable write-ahead log line in segment {}", id);
+					}
+				}
+			}
+
+			if (count == 0) {
+				Files.deleteIfExists(segmentPath(id));
+			} else {
+				pending.put(id, count);
+			}
+			segment = Math.max(segment, id);
+		}
+
+		openSegment(segment + 1);
+	}
+
+	// Returns the segment the entry was written to, to be released once the person is flushed
+	long append(Entry entry) throws IOException {
+		if (channel.size() >= segmentBytes) {
+			openSegment(segment + 1);
+		}
+
+		byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.wrap(line);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		channel.force(false);
+
+		pending.merge(segment, 1, Integer::sum);
+		return segment;
+	}
+
+	void release(long id, int count) {
+		int remaining = pending.merge(id, -count, Integer::sum);
+		if (remaining <= 0 && id != segment) {
+			pending.remove(id);
+			delete(id);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+			if (pending.getOrDefault(segment, 0) <= 0) {
+				delete(segment);
+			}
+		}
+		lock.release();
+		lockChannel.close();
+	}
+
+	private void openSegment(long id) throws IOException {
+		FileChannel previous = channel;
+		long previousSegment = segment;
+
+		channel = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		segment = id;
+
+		if (previous != null) {
+			previous.close();
+			if (pending.getOrDefault(previousSegment, 0) <= 0) {
+				pending.remove(previousSegment);
+				delete(previousSegment);
+			}
+		}
+	}
+
+	private void delete(long id) {
+		try {
+			Files.deleteIfExists(segmentPath(id));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private List<Long> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.map(name -> Long.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+					.sorted()
+					.toList();
+		}
+	}
+
+	private Path segmentPath(long id) {
+		return directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+	}
+
+}
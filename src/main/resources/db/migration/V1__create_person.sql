@@ -0,0 +1,11 @@
+-- The person table as ddl-auto created it before Flyway owned the schema. Those databases are
+-- baselined at this version, new ones create it here; V2 turns both into the current layout
+create table person (
+	id bigint not null auto_increment,
+	address varchar(100) not null,
+	email varchar(100) not null,
+	first_name varchar(80) not null,
+	gender varchar(6) not null,
+	last_name varchar(80) not null,
+	primary key (id)
+);
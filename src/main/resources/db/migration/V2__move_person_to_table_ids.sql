@@ -0,0 +1,18 @@
+-- Optimistic locking; rows that existed before count as version 0
+alter table person add column version bigint not null default 0;
+
+-- Person.id comes from the pooled table generator now, so the column no longer generates ids
+alter table person modify id bigint not null;
+
+-- Backs the pooled table generator of Person.id
+create table person_id_sequence (
+	sequence_name varchar(255) not null,
+	next_val bigint,
+	primary key (sequence_name)
+);
+
+-- The pooled optimizer reads next_val as the top of the next block of allocationSize (50) ids,
+-- so it is seeded a full block above the highest existing id; seeding max(id) + 1 would hand
+-- out ids that already exist
+insert into person_id_sequence (sequence_name, next_val)
+select 'person', coalesce(max(id), 0) + 50 from person;
@@ -0,0 +1,5 @@
+-- findByEmail and the duplicate check on create
+create unique index uk_person_email on person (email);
+
+-- findByJPQL and findByNativeSQL filter on first and last name
+create index idx_person_last_name_first_name on person (last_name, first_name);
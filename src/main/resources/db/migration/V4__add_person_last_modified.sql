@@ -0,0 +1,2 @@
+-- Backs the Last-Modified header; existing rows count as modified when the column is added
+alter table person add column last_modified datetime(6) not null default current_timestamp(6);
@@ -0,0 +1,18 @@
+-- Change events written in the same transaction as the person row they describe. The relay
+-- numbers them with publish_sequence in the order it picks them up, which is the order consumers
+-- read them from GET /person/changes?since=
+create table person_outbox (
+	id bigint not null,
+	publish_sequence bigint,
+	person_id bigint not null,
+	change_type varchar(10) not null,
+	version bigint,
+	occurred_at datetime(6) not null,
+	published_at datetime(6),
+	payload varchar(1000),
+	primary key (id)
+);
+
+create unique index uk_person_outbox_publish_sequence on person_outbox (publish_sequence);
+
+create index idx_person_outbox_published_at on person_outbox (published_at);
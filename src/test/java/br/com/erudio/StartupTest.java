@@ -0,0 +1,26 @@
+package br.com.erudio;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+
+// Boots the whole application, so a broken logback-spring.xml or bean wiring fails here first
+@SpringBootTest
+class StartupTest extends AbstractIntegrationTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	@DisplayName("JUnit test for Should Load Application Context")
+	void testShouldLoadApplicationContext() {
+		assertNotNull(context.getBean(Startup.class));
+	}
+
+}
@@ -0,0 +1,57 @@
+package br.com.erudio.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+	private static final int INSERTIONS = 10_000;
+
+	private BloomFilter filter;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		filter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.put("person" + i + "@erudio.com.br");
+		}
+	}
+
+	@DisplayName("Given Added E-mails When Might Contain then Always Return True")
+	@Test
+	void testGivenAddedEmails_WhenMightContain_thenAlwaysReturnTrue() {
+		// When / Act / Then / Assert
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(filter.mightContain("person" + i + "@erudio.com.br"));
+		}
+	}
+
+	@DisplayName("Given Unknown E-mails When Might Contain then Stay Near Target False Positive Rate")
+	@Test
+	void testGivenUnknownEmails_WhenMightContain_thenStayNearTargetFalsePositiveRate() {
+		// When / Act
+		int falsePositives = 0;
+		for (int i = 0; i < INSERTIONS; i++) {
+			if (filter.mightContain("someone" + i + "@sulprint.com.br")) {
+				falsePositives++;
+			}
+		}
+
+		// Then / Assert
+		assertTrue(falsePositives < INSERTIONS * 0.02, "false positives: " + falsePositives);
+		assertTrue(filter.expectedFalsePositiveProbability() < 0.02);
+	}
+
+	@DisplayName("Given Empty Filter When Might Contain then Return False")
+	@Test
+	void testGivenEmptyFilter_WhenMightContain_thenReturnFalse() {
+		// When / Act / Then / Assert
+		assertFalse(new BloomFilter(INSERTIONS, 0.01).mightContain("leandro@erudio.com.br"));
+	}
+
+}
@@ -0,0 +1,72 @@
+package br.com.erudio.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.repositories.PersonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PersonEmailFilterTest {
+
+	private static final String FALSE_POSITIVE_RATE = "person.email.filter.false.positive.rate";
+
+	private PersonRepository repository;
+	private PersonEmailFilter emailFilter;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		repository = mock(PersonRepository.class);
+		when(repository.streamEmails()).thenReturn(Stream.of("leandro@erudio.com.br", "gabi@erudio.com.br"));
+
+		emailFilter = new PersonEmailFilter(1000, 0.01);
+		ReflectionTestUtils.setField(emailFilter, "repository", repository);
+		registry = new SimpleMeterRegistry();
+		emailFilter.bindTo(registry);
+	}
+
+	@DisplayName("Given Filter Not Built When Record False Positives then Keep Rate At Zero")
+	@Test
+	void testGivenFilterNotBuilt_WhenRecordFalsePositives_thenKeepRateAtZero() {
+		// When / Act
+		boolean mightExist = emailFilter.mightExist("someone@sulprint.com.br");
+		emailFilter.recordFalsePositives(1);
+
+		// Then / Assert
+		assertTrue(mightExist);
+		assertEquals(0.0, falsePositiveRate());
+	}
+
+	@DisplayName("Given Built Filter When Record False Positives then Report Them Per Possible E-mail")
+	@Test
+	void testGivenBuiltFilter_WhenRecordFalsePositives_thenReportThemPerPossibleEmail() {
+		// Given / Arrange
+		emailFilter.recordFalsePositives(3);
+		emailFilter.build();
+
+		// When / Act
+		assertTrue(emailFilter.mightExist("Leandro@Erudio.com.br"));
+		assertTrue(emailFilter.mightExist("gabi@erudio.com.br"));
+		assertFalse(emailFilter.mightExist("someone@sulprint.com.br"));
+		emailFilter.recordFalsePositives(1);
+
+		// Then / Assert
+		assertEquals(0.5, falsePositiveRate());
+	}
+
+	private double falsePositiveRate() {
+		return registry.get(FALSE_POSITIVE_RATE).gauge().value();
+	}
+
+}
@@ -0,0 +1,198 @@
+package br.com.erudio.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.erudio.Startup;
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+import br.com.erudio.outbox.PersonChangeFeed;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonService;
+import jakarta.persistence.EntityManagerFactory;
+
+// Two in-memory H2 databases stand in for the MySQL primary and its replica; the replica is
+// only seeded with one "replicated" row, so every read tells which database served it
+public class DataSourceRoutingTest {
+
+	private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	private static final int PRIMARY_POOL_SIZE = 2;
+	private static final int REPLICA_POOL_SIZE = 8;
+
+	private static ConfigurableApplicationContext context;
+
+	@BeforeAll
+	public static void setup() {
+		// Given / Arrange
+		Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+		new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "")).update(
+				"insert into person (id, first_name, last_name, address, gender, email, version) "
+						+ "values (1000, 'Gabriela', 'Rodrigues', 'São Paulo', 'Female', 'gabi@erudio.com.br', 0)");
+
+		context = new SpringApplicationBuilder(Startup.class).run(
+				"--spring.main.web-application-type=none",
+				"--spring.datasource.url=" + PRIMARY_URL,
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.datasource.hikari.maximum-pool-size=" + PRIMARY_POOL_SIZE,
+				"--spring.datasource.hikari.minimum-idle=" + PRIMARY_POOL_SIZE,
+				"--spring.datasource.hikari.connection-timeout=1000",
+				"--app.datasource.replica.url=" + REPLICA_URL,
+				"--app.datasource.replica.username=sa",
+				"--app.datasource.replica.password=",
+				"--app.datasource.replica.hikari.maximum-pool-size=" + REPLICA_POOL_SIZE,
+				"--app.datasource.replica.hikari.minimum-idle=" + REPLICA_POOL_SIZE,
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--logging.level.br.com.erudio=WARN");
+	}
+
+	@AfterAll
+	public static void tearDown() {
+		context.close();
+	}
+
+	@DisplayName("Given Routing DataSource When Create And Find All then Write To Primary And Read From Replica")
+	@Test
+	void testGivenRoutingDataSource_WhenCreateAndFindAll_thenWriteToPrimaryAndReadFromReplica() {
+		// Given / Arrange
+		PersonService service = context.getBean(PersonService.class);
+		JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", HikariDataSource.class));
+
+		// When / Act
+		service.create(new Person("Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br"));
+		List<PersonView> people = service.findAll();
+
+		// Then / Assert
+		assertEquals(List.of(1000L), people.stream().map(PersonView::id).toList());
+		assertEquals(1, primary.queryForObject("select count(*) from person where email = ?", Integer.class,
+				"leandro@erudio.com.br"));
+	}
+
+	@DisplayName("Given Person Only On Primary When Find By Id then Read And Cache It From Primary")
+	@Test
+	void testGivenPersonOnlyOnPrimary_WhenFindById_thenReadAndCacheItFromPrimary() {
+		// Given / Arrange
+		PersonService service = context.getBean(PersonService.class);
+		Person person = service.create(new Person("Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br"));
+
+		// When / Act
+		PersonView found = service.findById(person.getId());
+
+		// Then / Assert
+		assertEquals("leonardo@erudio.com.br", found.email());
+	}
+
+	@DisplayName("Given Read-Only Transaction When Load From Replica then Not Put Into Second-Level Cache")
+	@Test
+	void testGivenReadOnlyTransaction_WhenLoadFromReplica_thenNotPutIntoSecondLevelCache() {
+		// Given / Arrange
+		PersonRepository repository = context.getBean(PersonRepository.class);
+		EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+		TransactionTemplate readTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readTransaction.setReadOnly(true);
+
+		// When / Act
+		Person replicated = readTransaction.execute(status -> repository.findById(1000L).orElseThrow());
+
+		// Then / Assert
+		assertEquals("gabi@erudio.com.br", replicated.getEmail());
+		assertFalse(entityManagerFactory.getCache().contains(Person.class, 1000L));
+	}
+
+	@DisplayName("Given Event Published Only On Primary When Changes then Read It From Primary")
+	@Test
+	void testGivenEventPublishedOnlyOnPrimary_WhenChanges_thenReadItFromPrimary() {
+		// Given / Arrange
+		PersonChangeFeed feed = context.getBean(PersonChangeFeed.class);
+		JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", HikariDataSource.class));
+		primary.update("insert into person_outbox (id, publish_sequence, person_id, change_type, version, "
+				+ "occurred_at, published_at) values (900000, 900000, 1000, 'DELETED', 1, current_timestamp, "
+				+ "current_timestamp)");
+
+		// When / Act
+		DeferredResult<List<PersonChangeEventVO>> result = feed.changes(899999, 10);
+
+		// Then / Assert
+		assertTrue(result.hasResult());
+		@SuppressWarnings("unchecked")
+		List<PersonChangeEventVO> events = (List<PersonChangeEventVO>) result.getResult();
+		assertEquals(List.of(900000L), events.stream().map(PersonChangeEventVO::getSequence).toList());
+	}
+
+	@DisplayName("Given Every Primary Connection Taken When Find All then Reads Still Complete On Replica")
+	@Test
+	void testGivenEveryPrimaryConnectionTaken_WhenFindAll_thenReadsStillCompleteOnReplica() throws Exception {
+		// Given / Arrange
+		PersonService service = context.getBean(PersonService.class);
+		PersonRepository repository = context.getBean(PersonRepository.class);
+		HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+		HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+		TransactionTemplate writeTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+		CountDownLatch acquired = new CountDownLatch(PRIMARY_POOL_SIZE);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService writers = Executors.newFixedThreadPool(PRIMARY_POOL_SIZE);
+		ExecutorService readers = Executors.newFixedThreadPool(REPLICA_POOL_SIZE);
+		try {
+			for (int i = 0; i < PRIMARY_POOL_SIZE; i++) {
+				writers.submit(() -> writeTransaction.executeWithoutResult(status -> {
+					repository.count();
+					acquired.countDown();
+					try {
+						release.await(30, TimeUnit.SECONDS);
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}));
+			}
+			assertTrue(acquired.await(10, TimeUnit.SECONDS));
+			assertEquals(PRIMARY_POOL_SIZE, primary.getHikariPoolMXBean().getActiveConnections());
+
+			// When / Act
+			List<Future<List<PersonView>>> reads = new ArrayList<>();
+			for (int i = 0; i < REPLICA_POOL_SIZE * 4; i++) {
+				reads.add(readers.submit(() -> service.findAll()));
+			}
+
+			// Then / Assert
+			for (Future<List<PersonView>> read : reads) {
+				assertEquals(1, read.get(5, TimeUnit.SECONDS).size());
+			}
+			assertEquals(PRIMARY_POOL_SIZE, primary.getHikariPoolMXBean().getActiveConnections());
+			assertEquals(0, replica.getHikariPoolMXBean().getThreadsAwaitingConnection());
+		} finally {
+			release.countDown();
+			writers.shutdown();
+			readers.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package br.com.erudio.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.time.Duration;
+
+import javax.cache.CacheManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class HibernateCacheConfigTest {
+
+	@DisplayName("Given Two Contexts When The First Closes Its Cache Manager then The Second Keeps Working")
+	@Test
+	void testGivenTwoContexts_WhenTheFirstClosesItsCacheManager_thenTheSecondKeepsWorking() {
+		// Given / Arrange
+		CacheManager first = config().hibernateCacheManager();
+		CacheManager second = config().hibernateCacheManager();
+
+		// When / Act
+		first.close();
+
+		// Then / Assert
+		assertNotSame(first, second);
+		assertFalse(second.isClosed());
+		assertNotNull(second.getCache(HibernateCacheConfig.PERSON_REGION));
+		second.close();
+	}
+
+	private static HibernateCacheConfig config() {
+		HibernateCacheConfig config = new HibernateCacheConfig();
+		ReflectionTestUtils.setField(config, "personMaxSize", 100L);
+		ReflectionTestUtils.setField(config, "personTimeToLive", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(config, "queryResultsMaxSize", 100L);
+		ReflectionTestUtils.setField(config, "queryResultsTimeToLive", Duration.ofMinutes(5));
+		return config;
+	}
+
+}
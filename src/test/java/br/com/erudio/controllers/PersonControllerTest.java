@@ -1,18 +1,34 @@
 package br.com.erudio.controllers;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,18 +36,36 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import br.com.erudio.config.WebConfig;
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.data.vo.v1.PersonWriteStatusVO;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.TooManyRequestsException;
 import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChangeEvent;
+import br.com.erudio.outbox.PersonChangeBroadcaster;
+import br.com.erudio.outbox.PersonChangeFeed;
+import br.com.erudio.serialization.converter.PersonProtobufHttpMessageConverter;
 import br.com.erudio.services.PersonService;
+import br.com.erudio.writebehind.PersonWriteBehindQueue;
 
 @WebMvcTest
+@Import(WebConfig.class)
 public class PersonControllerTest {
 
 	@Autowired
@@ -43,6 +77,15 @@ public class PersonControllerTest {
 	@MockBean
 	private PersonService service;
 
+	@MockBean
+	private PersonWriteBehindQueue writeBehindQueue;
+
+	@MockBean
+	private PersonChangeFeed changeFeed;
+
+	@MockBean
+	private PersonChangeBroadcaster broadcaster;
+
 	private Person person;
 
 	@BeforeEach
@@ -68,13 +111,46 @@ public class PersonControllerTest {
 				.andExpect(jsonPath("$.email").value(person.getEmail()));
 	}
 
+	@DisplayName("test Given Respond Async Preference When Create Person then Return Accepted With Status URL")
+	@Test
+	void testGivenRespondAsyncPreference_WhenCreatePerson_thenReturnAcceptedWithStatusUrl() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		when(writeBehindQueue.enqueue(any(Person.class))).thenReturn(PersonWriteStatusVO.queued("t1", person.getEmail()));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person").header("Prefer", "respond-async")
+				.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(person)));
+
+		// Then / Assert
+		response.andDo(print()).andExpect(status().isAccepted())
+				.andExpect(header().string("Location", "/person/queue/t1"))
+				.andExpect(header().string("Preference-Applied", "respond-async"))
+				.andExpect(jsonPath("$.status").value("QUEUED"));
+		verify(service, never()).create(any(Person.class));
+	}
+
+	@DisplayName("test Given Full Queue When Create Person Async then Return Too Many Requests")
+	@Test
+	void testGivenFullQueue_WhenCreatePersonAsync_thenReturnTooManyRequests() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		when(writeBehindQueue.enqueue(any(Person.class))).thenThrow(new TooManyRequestsException("full"));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person").header("Prefer", "respond-async")
+				.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(person)));
+
+		// Then / Assert
+		response.andDo(print()).andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"));
+	}
+
 	@DisplayName("test Given Person List WhenFind All then Return Person List")
 	@Test
 	void testGivenPersonList_WhenFindAll_thenReturnPersonList() throws JsonProcessingException, Exception {
 		// Given / Arrange
-		List<Person> persons = new ArrayList<>();
-		persons.add(person);
-		persons.add(new Person("Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br"));
+		List<PersonView> persons = new ArrayList<>();
+		persons.add(PersonView.of(person));
+		persons.add(PersonView.of(new Person("Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br")));
 
 		when(service.findAll()).thenReturn(persons);
 
@@ -85,12 +161,68 @@ public class PersonControllerTest {
 		response.andExpect(status().isOk()).andDo(print()).andExpect(jsonPath("$.size()").value(persons.size()));
 	}
 
+	@DisplayName("test Given Full Page When Find Page then Return Next Cursor")
+	@Test
+	void testGivenFullPage_WhenFindPage_thenReturnNextCursor() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		List<PersonView> page = List.of(
+				PersonView.of(new Person(11L, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br")),
+				PersonView.of(new Person(12L, "Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br")));
+
+		when(service.findAfter(eq(10L), anyInt())).thenReturn(page);
+
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person").param("after", "10").param("limit", "2"));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print()).andExpect(jsonPath("$.size()").value(page.size()))
+				.andExpect(header().string(PersonController.NEXT_CURSOR_HEADER, "12"));
+	}
+
+	@DisplayName("test Given Last Page When Find Page then Return No Cursor")
+	@Test
+	void testGivenLastPage_WhenFindPage_thenReturnNoCursor() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		when(service.findAfter(eq(12L), anyInt())).thenReturn(List.of());
+
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person").param("after", "12").param("limit", "2"));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print()).andExpect(jsonPath("$.size()").value(0))
+				.andExpect(header().doesNotExist(PersonController.NEXT_CURSOR_HEADER));
+	}
+
+	@DisplayName("test Given Person List When Export then Return One Person Per Line")
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGivenPersonList_WhenExport_thenReturnOnePersonPerLine() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Person anotherPerson = new Person("Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br");
+		doAnswer(invocation -> {
+			Consumer<Person> consumer = invocation.getArgument(0);
+			consumer.accept(person);
+			consumer.accept(anotherPerson);
+			return null;
+		}).when(service).exportAll(any(Consumer.class));
+
+		// When / Act
+		MvcResult result = mockMvc.perform(get("/person/export")).andExpect(request().asyncStarted()).andReturn();
+		ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+		// Then / Assert
+		// application/x-ndjson has no charset parameter, the lines are always UTF-8
+		response.andExpect(status().isOk()).andDo(print()).andExpect(content().bytes(
+				(mapper.writeValueAsString(person) + "\n" + mapper.writeValueAsString(anotherPerson) + "\n")
+						.getBytes(StandardCharsets.UTF_8)));
+	}
+
 	@DisplayName("test Given Person Id When Find By Id then Return Person Object")
 	@Test
 	void testGivenPersonId_WhenFindById_thenReturnPersonObject() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		Long personId = 1L;
-		when(service.findById(personId)).thenReturn(person);
+		when(service.findById(personId)).thenReturn(PersonView.of(person));
 
 		// When / Act
 		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
@@ -102,6 +234,23 @@ public class PersonControllerTest {
 				.andExpect(jsonPath("$.email").value(person.getEmail()));
 	}
 
+	@DisplayName("test Given Person Without Address When Find By Id then Write Null Address")
+	@Test
+	void testGivenPersonWithoutAddress_WhenFindById_thenWriteNullAddress() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Long personId = 1L;
+		person.setAddress(null);
+		when(service.findById(personId)).thenReturn(PersonView.of(person));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print())
+				.andExpect(content().string(containsString("\"address\":null")))
+				.andExpect(jsonPath("$.firstName").value(person.getFirstName()));
+	}
+
 	@DisplayName("test Given Invalid Person Id When Find By Id then Return Not Found")
 	@Test
 	void testGivenInvalidPersonId_WhenFindById_thenReturnNotFound() throws JsonProcessingException, Exception {
@@ -116,12 +265,179 @@ public class PersonControllerTest {
 		response.andExpect(status().isNotFound()).andDo(print());
 	}
 
+	@DisplayName("test Given Fields When Find By Id then Return Only Those Fields Without Validators")
+	@Test
+	void testGivenFields_WhenFindById_thenReturnOnlyThoseFieldsWithoutValidators() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Long personId = 1L;
+		when(service.findById(personId, Set.of("firstName", "email")))
+				.thenReturn(new PersonView(null, "Leandro", null, null, null, "leandro@erudio.com.br", null, null));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId).param("fields", "firstName,email"));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print())
+				.andExpect(jsonPath("$.firstName").value("Leandro"))
+				.andExpect(jsonPath("$.email").value("leandro@erudio.com.br"))
+				.andExpect(jsonPath("$.lastName").doesNotExist())
+				.andExpect(jsonPath("$.id").doesNotExist())
+				.andExpect(header().doesNotExist("ETag"));
+	}
+
+	@DisplayName("test Given Unknown Field When Find All then Return Bad Request")
+	@Test
+	void testGivenUnknownField_WhenFindAll_thenReturnBadRequest() throws JsonProcessingException, Exception {
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person").param("fields", "firstName,password"));
+
+		// Then / Assert
+		response.andExpect(status().isBadRequest()).andDo(print());
+	}
+
+	@DisplayName("test Given Protobuf Accept When Find By Id then Return Protobuf Person")
+	@Test
+	void testGivenProtobufAccept_WhenFindById_thenReturnProtobufPerson() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Long personId = 1L;
+		person.setId(personId);
+		when(service.findById(personId)).thenReturn(PersonView.of(person));
+
+		// When / Act
+		MvcResult result = mockMvc.perform(get("/person/{id}", personId)
+				.accept(PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF)).andReturn();
+
+		// Then / Assert
+		assertEquals(200, result.getResponse().getStatus());
+		assertEquals(PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE, result.getResponse().getContentType());
+		Person foundPerson = (Person) new PersonProtobufHttpMessageConverter().read(Person.class,
+				new MockHttpInputMessage(result.getResponse().getContentAsByteArray()));
+		assertEquals(personId, foundPerson.getId());
+		assertEquals(person.getEmail(), foundPerson.getEmail());
+	}
+
+	@DisplayName("test Given CBOR Person When Create Person then Return Saved Person")
+	@Test
+	void testGivenCborPerson_WhenCreatePerson_thenReturnSavedPerson() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		when(service.create(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(post("/person").contentType(MediaType.APPLICATION_CBOR)
+				.accept(MediaType.APPLICATION_JSON).content(new CBORMapper().writeValueAsBytes(person)));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print())
+				.andExpect(jsonPath("$.firstName").value(person.getFirstName()))
+				.andExpect(jsonPath("$.email").value(person.getEmail()));
+	}
+
+	@DisplayName("test Given Current ETag When Find By Id then Return Not Modified")
+	@Test
+	void testGivenCurrentETag_WhenFindById_thenReturnNotModified() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Long personId = 1L;
+		person.setId(personId);
+		person.setVersion(3L);
+		when(service.findById(personId)).thenReturn(PersonView.of(person));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/{id}", personId).header("If-None-Match", "\"3\""));
+
+		// Then / Assert
+		response.andExpect(status().isNotModified()).andDo(print())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(content().string(""));
+	}
+
+	@DisplayName("test Given Stale If-Match When Update then Return Precondition Failed")
+	@Test
+	void testGivenStaleIfMatch_WhenUpdate_thenReturnPreconditionFailed() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		person.setId(1L);
+		when(service.update(any(Person.class))).thenThrow(new ResourceConflictException("stale"));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(put("/person").header("If-Match", "\"2\"")
+				.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(person)));
+
+		// Then / Assert
+		response.andExpect(status().isPreconditionFailed()).andDo(print());
+	}
+
+	@DisplayName("test Given Current If-Match When Delete then Delete That Version")
+	@Test
+	void testGivenCurrentIfMatch_WhenDelete_thenDeleteThatVersion() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Long personId = 1L;
+		doNothing().when(service).delete(personId, 3L);
+
+		// When / Act
+		ResultActions response = mockMvc.perform(delete("/person/{id}", personId).header("If-Match", "\"3\""));
+
+		// Then / Assert
+		response.andExpect(status().isNoContent()).andDo(print());
+		verify(service).delete(personId, 3L);
+	}
+
+	@DisplayName("test Given Stale If-Match When Delete then Return Precondition Failed")
+	@Test
+	void testGivenStaleIfMatch_WhenDelete_thenReturnPreconditionFailed() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		Long personId = 1L;
+		doThrow(new ResourceConflictException("stale")).when(service).delete(personId, 2L);
+
+		// When / Act
+		ResultActions response = mockMvc.perform(delete("/person/{id}", personId).header("If-Match", "\"2\""));
+
+		// Then / Assert
+		response.andExpect(status().isPreconditionFailed()).andDo(print());
+	}
+
+	@DisplayName("test Given Search Text When Search then Return Ranked Page")
+	@Test
+	void testGivenSearchText_WhenSearch_thenReturnRankedPage() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		person.setId(1L);
+		when(service.search("lean cos", 0, 20)).thenReturn(new PersonSearchPageVO(1, 0, 20, List.of(PersonView.of(person))));
+
+		// When / Act
+		ResultActions response = mockMvc.perform(get("/person/search").param("q", "lean cos"));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print())
+				.andExpect(jsonPath("$.total").value(1))
+				.andExpect(jsonPath("$.people.size()").value(1))
+				.andExpect(jsonPath("$.people[0].email").value(person.getEmail()));
+	}
+
+	@DisplayName("test Given Published Changes When Get Changes then Return Events After Since")
+	@Test
+	void testGivenPublishedChanges_WhenGetChanges_thenReturnEventsAfterSince() throws JsonProcessingException, Exception {
+		// Given / Arrange
+		DeferredResult<List<PersonChangeEventVO>> changes = new DeferredResult<>();
+		changes.setResult(List.of(new PersonChangeEventVO(8, PersonChangeEvent.Type.UPDATED, 1L, 2L, Instant.now(),
+				"{\"id\":1,\"email\":\"leandro@erudio.com.br\"}")));
+		when(changeFeed.changes(7L, 100)).thenReturn(changes);
+
+		// When / Act
+		MvcResult result = mockMvc.perform(get("/person/changes").param("since", "7")).andExpect(request().asyncStarted())
+				.andReturn();
+		ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+		// Then / Assert
+		response.andExpect(status().isOk()).andDo(print())
+				.andExpect(jsonPath("$[0].sequence").value(8))
+				.andExpect(jsonPath("$[0].type").value("UPDATED"))
+				.andExpect(jsonPath("$[0].person.email").value("leandro@erudio.com.br"));
+	}
+
 	@DisplayName("test Given Updated Person When Update then Return Updated Person Object")
 	@Test
 	void testGivenUpdatedPerson_WhenUpdate_thenReturnUpdatedPersonObject() throws JsonProcessingException, Exception {
 		// Given / Arrange
 		Long personId = 1L;
-		when(service.findById(personId)).thenReturn(person);
+		when(service.findById(personId)).thenReturn(PersonView.of(person));
 		when(service.update(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
 		// When / Act
@@ -0,0 +1,111 @@
+package br.com.erudio.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.ReactivePersonService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(controllers = ReactivePersonController.class)
+@ActiveProfiles("reactive")
+public class ReactivePersonControllerTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockBean
+	private ReactivePersonService service;
+
+	private Person person;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		person = new Person(1L, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+	}
+
+	@DisplayName("test Given Person Flux When Export then Return One Person Per Line")
+	@Test
+	void testGivenPersonFlux_WhenExport_thenReturnOnePersonPerLine() {
+		// Given / Arrange
+		Person anotherPerson = new Person(2L, "Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br");
+		when(service.findAll()).thenReturn(Flux.just(person, anotherPerson));
+
+		// When / Act / Then / Assert
+		webTestClient.get().uri("/person/export").accept(MediaType.APPLICATION_NDJSON).exchange()
+				.expectStatus().isOk()
+				.expectBodyList(Person.class).hasSize(2);
+	}
+
+	@DisplayName("test Given Person Id When Find By Id then Return Person Object")
+	@Test
+	void testGivenPersonId_WhenFindById_thenReturnPersonObject() {
+		// Given / Arrange
+		when(service.findById(1L)).thenReturn(Mono.just(person));
+
+		// When / Act / Then / Assert
+		webTestClient.get().uri("/person/{id}", 1L).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.firstName").isEqualTo(person.getFirstName())
+				.jsonPath("$.email").isEqualTo(person.getEmail());
+	}
+
+	@DisplayName("test Given Invalid Person Id When Find By Id then Return Not Found")
+	@Test
+	void testGivenInvalidPersonId_WhenFindById_thenReturnNotFound() {
+		// Given / Arrange
+		when(service.findById(1L)).thenReturn(Mono.error(new ResourceNotFoundException("No records found this id!")));
+
+		// When / Act / Then / Assert
+		webTestClient.get().uri("/person/{id}", 1L).exchange().expectStatus().isNotFound();
+	}
+
+	@DisplayName("test Given Person Object When Create Person then Return Saved Person")
+	@Test
+	void testGivenPersonObject_WhenCreatePerson_thenReturnSavedPerson() {
+		// Given / Arrange
+		when(service.create(any(Person.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+		// When / Act / Then / Assert
+		webTestClient.post().uri("/person").contentType(MediaType.APPLICATION_JSON).bodyValue(person).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.firstName").isEqualTo(person.getFirstName())
+				.jsonPath("$.email").isEqualTo(person.getEmail());
+	}
+
+	@DisplayName("test Given Person Id When Delete then Return No Content")
+	@Test
+	void testGivenPersonId_WhenDelete_thenReturnNoContent() {
+		// Given / Arrange
+		when(service.delete(1L)).thenReturn(Mono.empty());
+
+		// When / Act / Then / Assert
+		webTestClient.delete().uri("/person/{id}", 1L).exchange().expectStatus().isNoContent();
+	}
+
+	@DisplayName("test Given Invalid Person Id When Delete then Return Not Found")
+	@Test
+	void testGivenInvalidPersonId_WhenDelete_thenReturnNotFound() {
+		// Given / Arrange
+		when(service.delete(1L)).thenReturn(Mono.error(new ResourceNotFoundException("No records found this id!")));
+
+		// When / Act / Then / Assert
+		webTestClient.delete().uri("/person/{id}", 1L).exchange().expectStatus().isNotFound();
+	}
+
+}
@@ -0,0 +1,58 @@
+package br.com.erudio.integrationtests.queries;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+// Asserts the exact number of statements a block of code sends to the database. Statements on the
+// id generator table are ignored: they only show up once every allocationSize inserts
+public final class QueryCountAssertions {
+
+	private static final String ID_GENERATOR_TABLE = "person_id_sequence";
+
+	private static final StatementRecorder RECORDER = new StatementRecorder();
+
+	private QueryCountAssertions() {
+
+	}
+
+	public static void reset() {
+		RECORDER.clear();
+	}
+
+	public static void assertStatementCount(int select, int insert, int update, int delete) {
+		List<String> statements = RECORDER.statements().stream()
+				.filter(sql -> !sql.toLowerCase().contains(ID_GENERATOR_TABLE))
+				.toList();
+
+		assertAll(
+				() -> assertEquals(select, count(statements, QueryType.SELECT), () -> "select statements in " + statements),
+				() -> assertEquals(insert, count(statements, QueryType.INSERT), () -> "insert statements in " + statements),
+				() -> assertEquals(update, count(statements, QueryType.UPDATE), () -> "update statements in " + statements),
+				() -> assertEquals(delete, count(statements, QueryType.DELETE), () -> "delete statements in " + statements),
+				() -> assertEquals(select + insert + update + delete, statements.size(), () -> "statements " + statements));
+	}
+
+	private static long count(List<String> statements, QueryType type) {
+		return statements.stream().filter(sql -> QueryUtils.getQueryType(sql) == type).count();
+	}
+
+	// Import into a Spring test so the recorder is registered with the DataSource proxy
+	@TestConfiguration(proxyBeanMethods = false)
+	public static class Configuration {
+
+		@Bean
+		StatementRecorder statementRecorder() {
+			return RECORDER;
+		}
+
+	}
+
+}
@@ -0,0 +1,36 @@
+package br.com.erudio.integrationtests.queries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Keeps the SQL of every statement executed by the current thread; a JDBC batch is one entry,
+// because it is a single round trip to the database
+public class StatementRecorder implements QueryExecutionListener {
+
+	private final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		for (QueryInfo queryInfo : queryInfoList) {
+			statements.get().add(queryInfo.getQuery());
+		}
+	}
+
+	public List<String> statements() {
+		return List.copyOf(statements.get());
+	}
+
+	public void clear() {
+		statements.get().clear();
+	}
+
+}
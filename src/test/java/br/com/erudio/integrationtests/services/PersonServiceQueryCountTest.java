@@ -0,0 +1,164 @@
+package br.com.erudio.integrationtests.services;
+
+import static br.com.erudio.integrationtests.queries.QueryCountAssertions.assertStatementCount;
+import static br.com.erudio.integrationtests.queries.QueryCountAssertions.reset;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+
+import br.com.erudio.bloom.PersonEmailFilter;
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.integrationtests.queries.QueryCountAssertions;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonService;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(QueryCountAssertions.Configuration.class)
+class PersonServiceQueryCountTest extends AbstractIntegrationTest {
+
+	@Autowired
+	private PersonService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PersonEmailFilter emailFilter;
+
+	private Person person;
+
+	@BeforeEach
+	public void setup() throws InterruptedException {
+		// Given / Arrange
+		person = newPerson();
+
+		// The e-mail filter is built in the background once the application is ready
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!emailFilter.isReady() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	// Every write also inserts its change event into the outbox
+	@DisplayName("Given New Person When Create Should Run Two Inserts")
+	@Test
+	void testGivenNewPerson_WhenCreate_ShouldRunTwoInserts() {
+		// Given / Arrange
+		reset();
+
+		// When / Act
+		service.create(person);
+
+		// Then / Assert
+		assertStatementCount(0, 2, 0, 0);
+	}
+
+	@DisplayName("Given Cached Person When FindById Should Run No Statement")
+	@Test
+	void testGivenCachedPerson_WhenFindById_ShouldRunNoStatement() {
+		// Given / Arrange
+		Person saved = service.create(person);
+		service.findById(saved.getId());
+		reset();
+
+		// When / Act
+		service.findById(saved.getId());
+
+		// Then / Assert
+		assertStatementCount(0, 0, 0, 0);
+	}
+
+	@DisplayName("Given Evicted Caches When FindById Should Run One Select")
+	@Test
+	void testGivenEvictedCaches_WhenFindById_ShouldRunOneSelect() {
+		// Given / Arrange
+		Person saved = service.create(person);
+		cacheManager.getCache(CacheConfig.PERSON_CACHE).clear();
+		entityManagerFactory.getCache().evictAll();
+		reset();
+
+		// When / Act
+		service.findById(saved.getId());
+
+		// Then / Assert
+		assertStatementCount(1, 0, 0, 0);
+	}
+
+	@DisplayName("Given Fields When FindById Should Run One Select")
+	@Test
+	void testGivenFields_WhenFindById_ShouldRunOneSelect() {
+		// Given / Arrange
+		Person saved = service.create(person);
+		reset();
+
+		// When / Act
+		service.findById(saved.getId(), Set.of("firstName", "email"));
+		service.findById(saved.getId(), Set.of("firstName", "email"));
+
+		// Then / Assert
+		assertStatementCount(2, 0, 0, 0);
+	}
+
+	@DisplayName("Given Person Object When Update Should Run One Update And One Outbox Insert")
+	@Test
+	void testGivenPersonObject_WhenUpdate_ShouldRunOneUpdateAndOneOutboxInsert() {
+		// Given / Arrange
+		Person saved = service.create(person);
+		saved.setFirstName("Leonardo");
+		reset();
+
+		// When / Act
+		service.update(saved);
+
+		// Then / Assert
+		assertStatementCount(0, 1, 1, 0);
+	}
+
+	@DisplayName("Given PersonId When Delete Should Run One Delete And One Outbox Insert")
+	@Test
+	void testGivenPersonId_WhenDelete_ShouldRunOneDeleteAndOneOutboxInsert() {
+		// Given / Arrange
+		Person saved = service.create(person);
+		reset();
+
+		// When / Act
+		service.delete(saved.getId());
+
+		// Then / Assert
+		assertStatementCount(0, 1, 0, 1);
+	}
+
+	@DisplayName("Given Persons List With New E-mails When CreateAll Should Run One Insert Batch Per Table")
+	@Test
+	void testGivenPersonsListWithNewEmails_WhenCreateAll_ShouldRunOneInsertBatchPerTable() {
+		// Given / Arrange
+		List<Person> people = List.of(newPerson(), newPerson(), newPerson());
+		reset();
+
+		// When / Act
+		service.createAll(people);
+
+		// Then / Assert
+		assertStatementCount(0, 2, 0, 0);
+	}
+
+	private static Person newPerson() {
+		return new Person("Leandro", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male",
+				UUID.randomUUID() + "@erudio.com.br");
+	}
+
+}
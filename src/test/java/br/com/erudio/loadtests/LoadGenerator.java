@@ -0,0 +1,89 @@
+package br.com.erudio.loadtests;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Open-model load generator: requests are started at a fixed rate whether or not earlier ones have
+// finished, and latency is measured from the intended start time so a stalled server is not hidden
+// by the generator slowing down (coordinated omission)
+public class LoadGenerator {
+
+	public record Scenario(String name, int weight, LongFunction<HttpRequest> request) {
+	}
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	public LoadReport run(List<Scenario> scenarios, int requestsPerSecond, Duration duration) {
+		Map<String, Histogram> histograms = new LinkedHashMap<>();
+		Map<String, LongAdder> errors = new LinkedHashMap<>();
+		int totalWeight = 0;
+		for (Scenario scenario : scenarios) {
+			histograms.put(scenario.name(), new ConcurrentHistogram(3));
+			errors.put(scenario.name(), new LongAdder());
+			totalWeight += scenario.weight();
+		}
+
+		long intervalNanos = 1_000_000_000L / requestsPerSecond;
+		long requests = duration.toNanos() / intervalNanos;
+
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (long i = 0; i < requests; i++) {
+				long intendedStart = start + i * intervalNanos;
+				long wait = intendedStart - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+
+				Scenario scenario = pick(scenarios, totalWeight);
+				long sequence = i;
+				executor.execute(() -> execute(scenario, sequence, intendedStart,
+						histograms.get(scenario.name()), errors.get(scenario.name())));
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		Map<String, Long> errorCounts = new LinkedHashMap<>();
+		errors.forEach((name, count) -> errorCounts.put(name, count.sum()));
+		return new LoadReport(histograms, errorCounts, elapsed);
+	}
+
+	private void execute(Scenario scenario, long sequence, long intendedStart, Histogram histogram, LongAdder errors) {
+		try {
+			HttpResponse<Void> response = client.send(scenario.request().apply(sequence), BodyHandlers.discarding());
+			if (response.statusCode() >= 400) {
+				errors.increment();
+			}
+		} catch (Exception ex) {
+			errors.increment();
+		}
+		histogram.recordValue(System.nanoTime() - intendedStart);
+	}
+
+	private Scenario pick(List<Scenario> scenarios, int totalWeight) {
+		int slot = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Scenario scenario : scenarios) {
+			slot -= scenario.weight();
+			if (slot < 0) {
+				return scenario;
+			}
+		}
+		return scenarios.get(scenarios.size() - 1);
+	}
+
+}
@@ -0,0 +1,45 @@
+package br.com.erudio.loadtests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+// Per endpoint throughput and latency percentiles of one LoadGenerator run, latencies recorded in nanoseconds
+public record LoadReport(Map<String, Histogram> histograms, Map<String, Long> errors, long elapsedNanos) {
+
+	public long totalErrors() {
+		return errors.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	public String format(String label) {
+		StringBuilder report = new StringBuilder();
+		report.append("== ").append(LocalDateTime.now()).append(' ').append(label).append('\n');
+		report.append(String.format("%-24s %8s %6s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "errors",
+				"req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+		histograms.forEach((name, histogram) -> report.append(String.format(
+				"%-24s %8d %6d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(),
+				errors.get(name), histogram.getTotalCount() * 1_000_000_000.0 / elapsedNanos,
+				millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+				millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()))));
+
+		return report.toString();
+	}
+
+	public void appendTo(Path file, String label) throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		Files.writeString(file, format(label) + "\n", StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+}
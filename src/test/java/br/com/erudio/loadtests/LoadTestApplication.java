@@ -0,0 +1,36 @@
+package br.com.erudio.loadtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.erudio.Startup;
+
+// Boots the whole application on a random port against an in-memory H2 database standing in for MySQL;
+// the MySQL migrations are skipped and Hibernate generates the schema instead
+public class LoadTestApplication {
+
+	public static ConfigurableApplicationContext start(String databaseName, String... arguments) {
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--spring.flyway.enabled=false",
+				"--spring.jpa.hibernate.ddl-auto=create-drop"));
+		args.addAll(Arrays.asList(arguments));
+
+		return new SpringApplicationBuilder(Startup.class, SlowDataSourceConfiguration.class)
+				.run(args.toArray(String[]::new));
+	}
+
+	public static int port(ConfigurableApplicationContext context) {
+		return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+	}
+
+}
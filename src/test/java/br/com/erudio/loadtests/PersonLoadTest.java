@@ -0,0 +1,124 @@
+package br.com.erudio.loadtests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.config.TestConfigs;
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.loadtests.LoadGenerator.Scenario;
+import br.com.erudio.model.Person;
+
+// Mixed read/write traffic against /person on an embedded database, run with -Pperformance.
+// Tuned through system properties, e.g. to compare configurations:
+// mvn -Pperformance test -Dtest=PersonLoadTest -Dloadtest.rate=1000 \
+//     -Dloadtest.app-args=--spring.threads.virtual.enabled=true,--spring.datasource.hikari.maximum-pool-size=50
+// Every run appends its percentiles to target/load-test-report.txt
+@Tag("performance")
+class PersonLoadTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(PersonLoadTest.class);
+
+	private static final int RATE = Integer.getInteger("loadtest.rate", 500);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+	private static final int SEED_SIZE = Integer.getInteger("loadtest.seed-size", 1000);
+	private static final String APP_ARGS = System.getProperty("loadtest.app-args", "");
+	private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/load-test-report.txt"));
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+	private final AtomicLong emails = new AtomicLong();
+
+	@Test
+	@DisplayName("Load Test When Mixed Read Write Traffic Should Answer Every Request")
+	void loadTest_WhenMixedReadWriteTraffic_ShouldAnswerEveryRequest() throws Exception {
+		String[] appArgs = APP_ARGS.isBlank() ? new String[0] : APP_ARGS.split(",");
+
+		try (ConfigurableApplicationContext context = LoadTestApplication.start("person-load-test", appArgs)) {
+			String baseUrl = "http://localhost:" + LoadTestApplication.port(context) + "/person";
+			List<Long> ids = seed(baseUrl);
+			List<Scenario> scenarios = scenarios(baseUrl, ids);
+
+			LoadGenerator generator = new LoadGenerator();
+			// Warm-up run lets the JIT, the pools and the caches settle, its numbers are discarded
+			generator.run(scenarios, RATE, Duration.ofSeconds(WARMUP_SECONDS));
+			LoadReport report = generator.run(scenarios, RATE, Duration.ofSeconds(DURATION_SECONDS));
+
+			String label = "rate=" + RATE + "/s duration=" + DURATION_SECONDS + "s args=" + Arrays.toString(appArgs);
+			report.appendTo(REPORT, label);
+			logger.info("Load test report appended to {}\n{}", REPORT, report.format(label));
+
+			assertEquals(0, report.totalErrors());
+		}
+	}
+
+	private List<Scenario> scenarios(String baseUrl, List<Long> ids) {
+		return List.of(
+				new Scenario("GET /person/{id}", 60,
+						sequence -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + pick(ids, sequence))).GET().build()),
+				new Scenario("GET /person?after&limit", 20,
+						sequence -> HttpRequest.newBuilder(
+								URI.create(baseUrl + "?after=" + pick(ids, sequence) + "&limit=50")).GET().build()),
+				new Scenario("POST /person", 10,
+						sequence -> jsonRequest(baseUrl, "POST", newPerson(null))),
+				new Scenario("PUT /person", 10,
+						sequence -> jsonRequest(baseUrl, "PUT", newPerson(pick(ids, sequence)))));
+	}
+
+	private List<Long> seed(String baseUrl) throws Exception {
+		List<Person> people = new ArrayList<>(SEED_SIZE);
+		for (int i = 0; i < SEED_SIZE; i++) {
+			people.add(newPerson(null));
+		}
+
+		String content = HttpClient.newHttpClient()
+				.send(HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+						.header("Content-Type", TestConfigs.CONTENT_TYPE_JSON)
+						.POST(BodyPublishers.ofString(objectMapper.writeValueAsString(people))).build(),
+						BodyHandlers.ofString())
+				.body();
+
+		return Arrays.stream(objectMapper.readValue(content, PersonBatchResultVO[].class))
+				.map(PersonBatchResultVO::getId).toList();
+	}
+
+	private HttpRequest jsonRequest(String baseUrl, String method, Person person) {
+		try {
+			return HttpRequest.newBuilder(URI.create(baseUrl)).header("Content-Type", TestConfigs.CONTENT_TYPE_JSON)
+					.method(method, BodyPublishers.ofString(objectMapper.writeValueAsString(person))).build();
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private Person newPerson(Long id) {
+		return new Person(id, "Leandro", "Costa", "Uberlândia", "Male", "load" + emails.incrementAndGet() + "@erudio.com.br");
+	}
+
+	private Long pick(List<Long> ids, long sequence) {
+		return ids.get((int) (sequence % ids.size()));
+	}
+
+}
@@ -0,0 +1,59 @@
+package br.com.erudio.loadtests;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Stands in for a slow MySQL: every statement prepared on a pooled connection waits
+// app.load-test.statement-latency-ms before reaching the embedded database
+@TestConfiguration(proxyBeanMethods = false)
+public class SlowDataSourceConfiguration {
+
+	@Bean
+	static BeanPostProcessor slowDataSourcePostProcessor(Environment environment) {
+		long latencyMillis = environment.getProperty("app.load-test.statement-latency-ms", Long.class, 0L);
+
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (latencyMillis > 0 && bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+					return slow(dataSource, latencyMillis);
+				}
+				return bean;
+			}
+		};
+	}
+
+	private static DataSource slow(DataSource dataSource, long latencyMillis) {
+		return new DelegatingDataSource(dataSource) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				return slow(super.getConnection(), latencyMillis);
+			}
+		};
+	}
+
+	private static Connection slow(Connection connection, long latencyMillis) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+						Thread.sleep(latencyMillis);
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException ex) {
+						throw ex.getTargetException();
+					}
+				});
+	}
+
+}
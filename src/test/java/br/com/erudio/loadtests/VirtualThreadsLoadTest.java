@@ -0,0 +1,104 @@
+package br.com.erudio.loadtests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Runs with -Pperformance. Platform mode serves requests on Tomcat's default 200 worker threads;
+// virtual mode ignores server.tomcat.threads.max and starts one virtual thread per request. Both get
+// a 50 ms database and a pool big enough for every client, and there are more clients than platform
+// workers, so the difference is how many requests can wait on JDBC at the same time
+@Tag("performance")
+class VirtualThreadsLoadTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsLoadTest.class);
+
+	private static final int CONCURRENT_CLIENTS = 1000;
+	private static final int REQUESTS_PER_CLIENT = 20;
+	private static final int STATEMENT_LATENCY_MS = 50;
+
+	@Test
+	@DisplayName("Load Test When Database Is Slow Virtual Threads Should Serve More Requests Per Second")
+	void loadTest_WhenDatabaseIsSlow_VirtualThreadsShouldServeMoreRequestsPerSecond() throws Exception {
+		LoadResult platformThreads = run(false);
+		LoadResult virtualThreads = run(true);
+
+		logger.info("{}", platformThreads);
+		logger.info("{}", virtualThreads);
+
+		assertTrue(virtualThreads.throughput() > platformThreads.throughput());
+		assertTrue(virtualThreads.p99Millis() < platformThreads.p99Millis());
+	}
+
+	private LoadResult run(boolean virtualThreads) throws Exception {
+		String mode = virtualThreads ? "virtual-threads" : "platform-threads";
+
+		try (ConfigurableApplicationContext context = LoadTestApplication.start(mode,
+				"--spring.threads.virtual.enabled=" + virtualThreads,
+				"--spring.datasource.hikari.maximum-pool-size=" + CONCURRENT_CLIENTS,
+				"--spring.datasource.hikari.minimum-idle=" + CONCURRENT_CLIENTS,
+				"--app.load-test.statement-latency-ms=" + STATEMENT_LATENCY_MS)) {
+
+			HttpClient client = HttpClient.newHttpClient();
+			HttpRequest request = HttpRequest.newBuilder(URI.create(
+					"http://localhost:" + LoadTestApplication.port(context) + "/person?after=0&limit=10")).GET().build();
+
+			long[] latencies = new long[CONCURRENT_CLIENTS * REQUESTS_PER_CLIENT];
+			AtomicInteger next = new AtomicInteger();
+			List<Future<?>> clients = new ArrayList<>();
+
+			long start = System.nanoTime();
+			try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+				for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+					clients.add(executor.submit(() -> {
+						for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+							long sent = System.nanoTime();
+							HttpResponse<Void> response = client.send(request, BodyHandlers.discarding());
+							latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+
+							assertEquals(200, response.statusCode());
+						}
+						return null;
+					}));
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+
+			for (Future<?> future : clients) {
+				future.get();
+			}
+
+			Arrays.sort(latencies);
+			return new LoadResult(mode, latencies.length * 1_000_000_000.0 / elapsed,
+					latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000.0);
+		}
+	}
+
+	private record LoadResult(String mode, double throughput, double p99Millis) {
+
+		@Override
+		public String toString() {
+			return String.format("%-16s %8.1f req/s   p99 %8.1f ms", mode, throughput, p99Millis);
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package br.com.erudio.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+public class RateLimitingTurboFilterTest {
+
+	private static final int MAX_PER_SECOND = 5;
+
+	private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+	private RateLimitingTurboFilter filter;
+	private Logger sampled;
+	private Logger other;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		LoggerContext context = new LoggerContext();
+		sampled = context.getLogger("br.com.erudio.services.PersonService");
+		other = context.getLogger("br.com.erudio.controllers.PersonController");
+
+		filter = new RateLimitingTurboFilter();
+		filter.setLoggers("br.com.erudio.services, br.com.erudio.search");
+		filter.setMaxPerSecond(MAX_PER_SECOND);
+		filter.setClock(now::get);
+	}
+
+	@DisplayName("Given Budget Used Up When Decide then Deny Until Next Second")
+	@Test
+	void testGivenBudgetUsedUp_WhenDecide_thenDenyUntilNextSecond() {
+		// When / Act
+		for (int i = 0; i < MAX_PER_SECOND; i++) {
+			assertEquals(FilterReply.NEUTRAL, decide(sampled, Level.INFO));
+		}
+		FilterReply overBudget = decide(sampled, Level.INFO);
+		now.addAndGet(999);
+		FilterReply sameSecond = decide(sampled, Level.DEBUG);
+		now.addAndGet(1);
+		FilterReply nextSecond = decide(sampled, Level.INFO);
+
+		// Then / Assert
+		assertEquals(FilterReply.DENY, overBudget);
+		assertEquals(FilterReply.DENY, sameSecond);
+		assertEquals(FilterReply.NEUTRAL, nextSecond);
+	}
+
+	@DisplayName("Given Budget Used Up When Decide Warn or Unsampled then Stay Neutral")
+	@Test
+	void testGivenBudgetUsedUp_WhenDecideWarnOrUnsampled_thenStayNeutral() {
+		// Given / Arrange
+		for (int i = 0; i <= MAX_PER_SECOND; i++) {
+			decide(sampled, Level.INFO);
+		}
+
+		// When / Act / Then / Assert
+		assertEquals(FilterReply.NEUTRAL, decide(sampled, Level.WARN));
+		assertEquals(FilterReply.NEUTRAL, decide(sampled, Level.ERROR));
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, sampled, Level.INFO, null, null, null));
+		assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO));
+	}
+
+	@DisplayName("Given Concurrent Callers When Decide then Admit Exactly Max Per Second")
+	@Test
+	void testGivenConcurrentCallers_WhenDecide_thenAdmitExactlyMaxPerSecond() throws Exception {
+		// Given / Arrange
+		int threads = 16;
+		int callsPerThread = 100;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> admitted = new ArrayList<>();
+
+		// When / Act
+		try {
+			for (int t = 0; t < threads; t++) {
+				admitted.add(executor.submit(() -> {
+					start.await();
+					int neutral = 0;
+					for (int i = 0; i < callsPerThread; i++) {
+						if (decide(sampled, Level.INFO) == FilterReply.NEUTRAL) {
+							neutral++;
+						}
+					}
+					return neutral;
+				}));
+			}
+			start.countDown();
+
+			int total = 0;
+			for (Future<Integer> future : admitted) {
+				total += future.get();
+			}
+
+			// Then / Assert
+			assertEquals(MAX_PER_SECOND, total);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private FilterReply decide(Logger logger, Level level) {
+		return filter.decide(null, logger, level, "Finding one person!", null, null);
+	}
+
+}
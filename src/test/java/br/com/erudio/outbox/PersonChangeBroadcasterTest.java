@@ -0,0 +1,285 @@
+package br.com.erudio.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.exceptions.ResourceGoneException;
+import br.com.erudio.model.PersonChangeEvent;
+import br.com.erudio.repositories.PersonChangeEventRepository;
+
+public class PersonChangeBroadcasterTest {
+
+	private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+	private static final int BUFFER_SIZE = 8;
+
+	private PersonChangeEventRepository repository;
+
+	private PersonChangeBroadcaster broadcaster;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		repository = mock(PersonChangeEventRepository.class);
+		broadcaster = broadcaster(BUFFER_SIZE);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		broadcaster.stop();
+	}
+
+	@DisplayName("Given Thousands Of Subscribers When Changes Are Published then Every Subscriber Receives All In Order")
+	@Test
+	void testGivenThousandsOfSubscribers_WhenChangesArePublished_thenEverySubscriberReceivesAllInOrder()
+			throws Exception {
+		// Given / Arrange
+		int subscriberCount = 5000;
+		int batches = 50;
+		int batchSize = 4;
+		CountDownLatch received = new CountDownLatch(subscriberCount);
+		// Published back to back, so each buffer has room for every event
+		broadcaster.stop();
+		broadcaster = broadcaster(batches * batchSize);
+
+		List<RecordingEmitter> emitters = new ArrayList<>();
+		ExecutorService clients = Executors.newFixedThreadPool(32);
+		try {
+			List<Future<RecordingEmitter>> subscriptions = new ArrayList<>();
+			for (int i = 0; i < subscriberCount; i++) {
+				subscriptions.add(clients.submit(() -> {
+					RecordingEmitter emitter = new RecordingEmitter(batches * batchSize, received);
+					broadcaster.subscribe(emitter, null);
+					return emitter;
+				}));
+			}
+			for (Future<RecordingEmitter> subscription : subscriptions) {
+				emitters.add(subscription.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			clients.shutdown();
+		}
+		assertEquals(subscriberCount, broadcaster.subscribers());
+
+		// When / Act
+		for (int batch = 0; batch < batches; batch++) {
+			long first = batch * batchSize + 1L;
+			broadcaster.onPublished(published(first, first + batchSize - 1));
+		}
+
+		// Then / Assert
+		assertTrue(received.await(30, TimeUnit.SECONDS));
+		List<Long> expected = LongStream.rangeClosed(1, batches * batchSize).boxed().toList();
+		for (RecordingEmitter emitter : emitters) {
+			assertEquals(expected, emitter.ids());
+		}
+		assertEquals(subscriberCount, broadcaster.subscribers());
+	}
+
+	@DisplayName("Given Slow Subscriber When Its Buffer Overflows then Evict Only That Subscriber")
+	@Test
+	void testGivenSlowSubscriber_WhenItsBufferOverflows_thenEvictOnlyThatSubscriber() throws Exception {
+		// Given / Arrange
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch stalled = new CountDownLatch(1);
+		SseEmitter slow = new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				sending.countDown();
+				try {
+					stalled.await(30, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		CountDownLatch filled = new CountDownLatch(1);
+		CountDownLatch received = new CountDownLatch(1);
+		RecordingEmitter fast = new RecordingEmitter(BUFFER_SIZE, filled) {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				super.send(builder);
+				if (ids().size() == BUFFER_SIZE + 2) {
+					received.countDown();
+				}
+			}
+		};
+		broadcaster.subscribe(slow, null);
+		broadcaster.subscribe(fast, null);
+
+		try {
+			// The slow subscriber is stuck writing the first event with the rest of its buffer full
+			broadcaster.onPublished(published(1, BUFFER_SIZE));
+			assertTrue(sending.await(10, TimeUnit.SECONDS));
+			assertTrue(filled.await(10, TimeUnit.SECONDS));
+
+			// When / Act
+			broadcaster.onPublished(published(BUFFER_SIZE + 1, BUFFER_SIZE + 2));
+
+			// Then / Assert
+			assertTrue(received.await(10, TimeUnit.SECONDS));
+			assertEquals(LongStream.rangeClosed(1, BUFFER_SIZE + 2).boxed().toList(), fast.ids());
+			assertEquals(1, broadcaster.subscribers());
+		} finally {
+			stalled.countDown();
+		}
+	}
+
+	@DisplayName("Given Last Event Id When Subscribe then Replay The Outbox Before The Live Events")
+	@Test
+	void testGivenLastEventId_WhenSubscribe_thenReplayTheOutboxBeforeTheLiveEvents() throws Exception {
+		// Given / Arrange
+		when(repository.findMinPublishSequence()).thenReturn(1L);
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(3L), any(Limit.class)))
+				.thenReturn(List.of(event(4), event(5)));
+		CountDownLatch received = new CountDownLatch(1);
+		RecordingEmitter emitter = new RecordingEmitter(3, received);
+
+		// When / Act
+		broadcaster.subscribe(emitter, 3L);
+		broadcaster.onPublished(published(5, 6));
+
+		// Then / Assert
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+		assertEquals(List.of(4L, 5L, 6L), emitter.ids());
+	}
+
+	@DisplayName("Given Missed Sequences When Next Event Arrives then Fill The Gap From The Outbox")
+	@Test
+	void testGivenMissedSequences_WhenNextEventArrives_thenFillTheGapFromTheOutbox() throws Exception {
+		// Given / Arrange
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(1L), any(Limit.class)))
+				.thenReturn(List.of(event(2), event(3), event(4)));
+		CountDownLatch received = new CountDownLatch(1);
+		RecordingEmitter emitter = new RecordingEmitter(4, received);
+		broadcaster.subscribe(emitter, null);
+		broadcaster.onPublished(published(1, 1));
+
+		// When / Act
+		broadcaster.onPublished(published(4, 4));
+
+		// Then / Assert
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+		assertEquals(List.of(1L, 2L, 3L, 4L), emitter.ids());
+	}
+
+	@DisplayName("Given Last Event Id Older Than Retention When Subscribe then Throws Gone")
+	@Test
+	void testGivenLastEventIdOlderThanRetention_WhenSubscribe_thenThrowsGone() {
+		// Given / Arrange
+		when(repository.findMinPublishSequence()).thenReturn(40L);
+
+		// When / Act
+		assertThrows(ResourceGoneException.class, () -> {
+			broadcaster.subscribe(new RecordingEmitter(0, new CountDownLatch(1)), 3L);
+		});
+
+		// Then / Assert
+		assertEquals(0, broadcaster.subscribers());
+	}
+
+	@DisplayName("Given Idle Subscriber When Heartbeat then Send A Comment")
+	@Test
+	void testGivenIdleSubscriber_WhenHeartbeat_thenSendAComment() throws Exception {
+		// Given / Arrange
+		RecordingEmitter emitter = new RecordingEmitter(0, new CountDownLatch(1));
+		broadcaster.subscribe(emitter, null);
+
+		// When / Act
+		broadcaster.heartbeat();
+
+		// Then / Assert
+		assertEquals("heartbeat", emitter.sent.poll(10, TimeUnit.SECONDS));
+	}
+
+	private PersonChangeBroadcaster broadcaster(int bufferSize) {
+		PersonChangeBroadcaster broadcaster = new PersonChangeBroadcaster(mock(PlatformTransactionManager.class),
+				Duration.ofMinutes(1), bufferSize, 10000);
+		ReflectionTestUtils.setField(broadcaster, "repository", repository);
+		return broadcaster;
+	}
+
+	private static PersonChangesPublishedEvent published(long first, long last) {
+		return new PersonChangesPublishedEvent(
+				LongStream.rangeClosed(first, last).mapToObj(sequence -> PersonChangeEventVO.of(event(sequence))).toList());
+	}
+
+	private static PersonChangeEvent event(long sequence) {
+		PersonChangeEvent event = new PersonChangeEvent(1L, PersonChangeEvent.Type.UPDATED, sequence, Instant.now(),
+				"{\"id\":1}");
+		event.setPublishSequence(sequence);
+		event.setPublishedAt(Instant.now());
+		return event;
+	}
+
+	// Stands in for the HTTP response: records what would be written and counts down once the
+	// expected number of events arrived
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final LinkedBlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+		private final int expected;
+
+		private final CountDownLatch received;
+
+		private int events;
+
+		RecordingEmitter(int expected, CountDownLatch received) {
+			this.expected = expected;
+			this.received = received;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			StringBuilder text = new StringBuilder();
+			builder.build().stream().filter(data -> data.getData() instanceof String)
+					.forEach(data -> text.append(data.getData()));
+
+			Matcher id = EVENT_ID.matcher(text);
+			if (!id.find()) {
+				sent.add("heartbeat");
+				return;
+			}
+			sent.add(id.group(1));
+			if (++events == expected) {
+				received.countDown();
+			}
+		}
+
+		List<Long> ids() {
+			return sent.stream().filter(text -> !"heartbeat".equals(text)).map(Long::valueOf).toList();
+		}
+
+	}
+
+}
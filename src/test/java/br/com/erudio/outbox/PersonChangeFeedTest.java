@@ -0,0 +1,138 @@
+package br.com.erudio.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import br.com.erudio.data.vo.v1.PersonChangeEventVO;
+import br.com.erudio.exceptions.ResourceGoneException;
+import br.com.erudio.model.PersonChangeEvent;
+import br.com.erudio.repositories.PersonChangeEventRepository;
+
+public class PersonChangeFeedTest {
+
+	private PersonChangeEventRepository repository;
+
+	private PersonChangeFeed feed;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		repository = mock(PersonChangeEventRepository.class);
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(anyLong(), any(Limit.class)))
+				.thenReturn(List.of());
+
+		feed = new PersonChangeFeed(mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(feed, "repository", repository);
+		ReflectionTestUtils.setField(feed, "timeout", Duration.ofSeconds(30));
+	}
+
+	@DisplayName("Given Published Events When Changes then Answer At Once")
+	@Test
+	void testGivenPublishedEvents_WhenChanges_thenAnswerAtOnce() {
+		// Given / Arrange
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(4L), any(Limit.class)))
+				.thenReturn(List.of(event(5), event(6)));
+
+		// When / Act
+		DeferredResult<List<PersonChangeEventVO>> result = feed.changes(4, 100);
+
+		// Then / Assert
+		assertTrue(result.hasResult());
+		assertEquals(List.of(5L, 6L), sequences(result));
+	}
+
+	@DisplayName("Given No New Events When Next Batch Is Published then Complete The Waiting Request")
+	@Test
+	void testGivenNoNewEvents_WhenNextBatchIsPublished_thenCompleteTheWaitingRequest() {
+		// Given / Arrange
+		DeferredResult<List<PersonChangeEventVO>> result = feed.changes(6, 100);
+		assertFalse(result.hasResult());
+
+		// When / Act
+		feed.onPublished(new PersonChangesPublishedEvent(List.of(vo(7), vo(8))));
+
+		// Then / Assert
+		assertEquals(List.of(7L, 8L), sequences(result));
+	}
+
+	@DisplayName("Given Events Deleted By Retention When Changes then Throws Gone")
+	@Test
+	void testGivenEventsDeletedByRetention_WhenChanges_thenThrowsGone() {
+		// Given / Arrange
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(2L), any(Limit.class)))
+				.thenReturn(List.of(event(40)));
+
+		// When / Act
+		assertThrows(ResourceGoneException.class, () -> {
+			feed.changes(2, 100);
+		});
+	}
+
+	@DisplayName("Given Waiter Behind The Published Batch When Published then Read The Missed Events")
+	@Test
+	void testGivenWaiterBehindThePublishedBatch_WhenPublished_thenReadTheMissedEvents() {
+		// Given / Arrange
+		DeferredResult<List<PersonChangeEventVO>> result = feed.changes(3, 100);
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(3L), any(Limit.class)))
+				.thenReturn(List.of(event(4), event(5), event(6)));
+
+		// When / Act
+		feed.onPublished(new PersonChangesPublishedEvent(List.of(vo(6))));
+
+		// Then / Assert
+		assertEquals(List.of(4L, 5L, 6L), sequences(result));
+	}
+
+	@DisplayName("Given Waiter Past Retention When Published then Complete With Gone")
+	@Test
+	void testGivenWaiterPastRetention_WhenPublished_thenCompleteWithGone() {
+		// Given / Arrange
+		DeferredResult<List<PersonChangeEventVO>> result = feed.changes(3, 100);
+		when(repository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(eq(3L), any(Limit.class)))
+				.thenReturn(List.of(event(90)));
+
+		// When / Act
+		feed.onPublished(new PersonChangesPublishedEvent(List.of(vo(90))));
+
+		// Then / Assert
+		assertInstanceOf(ResourceGoneException.class, result.getResult());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Long> sequences(DeferredResult<List<PersonChangeEventVO>> result) {
+		return ((List<PersonChangeEventVO>) result.getResult()).stream().map(PersonChangeEventVO::getSequence).toList();
+	}
+
+	private static PersonChangeEvent event(long sequence) {
+		PersonChangeEvent event = new PersonChangeEvent(1L, PersonChangeEvent.Type.UPDATED, sequence, Instant.now(),
+				"{\"id\":1}");
+		event.setPublishSequence(sequence);
+		event.setPublishedAt(Instant.now());
+		return event;
+	}
+
+	private static PersonChangeEventVO vo(long sequence) {
+		return PersonChangeEventVO.of(event(sequence));
+	}
+
+}
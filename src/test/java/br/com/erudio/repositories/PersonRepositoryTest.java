@@ -2,10 +2,13 @@ package br.com.erudio.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +16,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import br.com.erudio.data.vo.v1.PersonView;
 import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
 import br.com.erudio.model.Person;
 
@@ -66,6 +72,77 @@ class PersonRepositoryTest extends AbstractIntegrationTest {
 		assertTrue(personList.size() >= 2);
 	}
 
+	@DisplayName("Given Person List When Find By Id Greater Than then Return Next Page In Id Order")
+	@Test
+	void testGivenPersonList_WhenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+		// Given / Arrange
+		Person person1 = new Person("Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br");
+		Person person2 = new Person("Gabriela", "Rodrigues", "São Paulo", "Female", "gabriela@erudio.com.br");
+		repository.save(person0);
+		repository.save(person1);
+		repository.save(person2);
+
+		// When / Act
+		List<Person> page = repository.findByIdGreaterThanOrderByIdAsc(person0.getId(), Limit.of(1));
+
+		// Then / Assert
+		assertEquals(1, page.size());
+		assertEquals(person1.getId(), page.get(0).getId());
+	}
+
+	@DisplayName("Given Person List When Find Views After then Return Next Page In Id Order")
+	@Test
+	void testGivenPersonList_WhenFindViewsAfter_thenReturnNextPageInIdOrder() {
+		// Given / Arrange
+		Person person1 = new Person("Leonardo", "Costa", "Uberlândia", "Male", "leonardo@erudio.com.br");
+		Person person2 = new Person("Gabriela", "Rodrigues", "São Paulo", "Female", "gabriela@erudio.com.br");
+		repository.save(person0);
+		repository.save(person1);
+		repository.save(person2);
+
+		// When / Act
+		List<PersonView> page = repository.findViewsAfter(person0.getId(), Limit.of(1));
+
+		// Then / Assert
+		assertEquals(1, page.size());
+		assertEquals(person1.getId(), page.get(0).id());
+		assertEquals("leonardo@erudio.com.br", page.get(0).email());
+	}
+
+	@DisplayName("Given Person Object When Find View By Id then Return Every Column")
+	@Test
+	void testGivenPersonObject_WhenFindViewById_thenReturnEveryColumn() {
+		// Given / Arrange
+		repository.save(person0);
+
+		// When / Act
+		PersonView view = repository.findViewById(person0.getId()).get();
+
+		// Then / Assert
+		assertEquals(person0.getId(), view.id());
+		assertEquals("Leandro", view.firstName());
+		assertEquals("leandro@erudio.com.br", view.email());
+		assertNotNull(view.version());
+		assertNotNull(view.lastModified());
+	}
+
+	@DisplayName("Given Person Object When Select Fields By Id then Return Only Those Fields")
+	@Test
+	void testGivenPersonObject_WhenSelectFieldsById_thenReturnOnlyThoseFields() {
+		// Given / Arrange
+		repository.save(person0);
+
+		// When / Act
+		PersonView view = repository.selectFieldsById(person0.getId(), Set.of("firstName", "email")).get();
+
+		// Then / Assert
+		assertEquals("Leandro", view.firstName());
+		assertEquals("leandro@erudio.com.br", view.email());
+		assertNull(view.id());
+		assertNull(view.lastName());
+		assertNull(view.version());
+	}
+
 	@DisplayName("Given Person Object When Find By Id then Return Object")
 	@Test
 	void testGivenPersonObject_WhenFindById_thenReturnPersonObject() {
@@ -94,6 +171,19 @@ class PersonRepositoryTest extends AbstractIntegrationTest {
 		assertEquals("leandro@erudio.com.br", savedPerson.getEmail());
 	}
 
+	@DisplayName("Given Existing E-mail When Save Person then Throw Data Integrity Violation")
+	@Test
+	void testGivenExistingEmail_WhenSavePerson_thenThrowDataIntegrityViolation() {
+		// Given / Arrange
+		repository.saveAndFlush(person0);
+		Person person1 = new Person("Leonardo", "Costa", "Uberlândia", "Male", person0.getEmail());
+
+		// When / Act
+		assertThrows(DataIntegrityViolationException.class, () -> {
+			repository.saveAndFlush(person1);
+		});
+	}
+
 	@DisplayName("Given Person Object When Update Person then Return Updated Person Object")
 	@Test
 	void testGivenPersonObject_WhenUpdatePerson_thenReturnUpdatedPersonObject() {
@@ -114,6 +204,40 @@ class PersonRepositoryTest extends AbstractIntegrationTest {
 		assertEquals("leonardo@erudio.com.br", savedPerson.getEmail());
 	}
 
+	@DisplayName("Given Person Object When Update Person With Stale Version then Update Nothing")
+	@Test
+	void testGivenPersonObject_WhenUpdatePersonWithStaleVersion_thenUpdateNothing() {
+		// Given / Arrange
+		repository.save(person0);
+		Long version = person0.getVersion();
+
+		// When / Act
+		int updated = repository.updatePerson(person0.getId(), "Leonardo", "Costa", "Uberlândia", "Male",
+				"leonardo@erudio.com.br", version, Person.now());
+		int staleUpdated = repository.updatePerson(person0.getId(), "Leandro", "Costa", "Uberlândia", "Male",
+				"leandro@erudio.com.br", version, Person.now());
+
+		// Then / Assert
+		assertEquals(1, updated);
+		assertEquals(0, staleUpdated);
+		assertEquals("Leonardo", repository.findById(person0.getId()).get().getFirstName());
+	}
+
+	@DisplayName("Given Person Object When Delete Person By Id then Return Affected Rows")
+	@Test
+	void testGivenPersonObject_WhenDeletePersonById_thenReturnAffectedRows() {
+		// Given / Arrange
+		repository.save(person0);
+
+		// When / Act
+		int deleted = repository.deletePersonById(person0.getId());
+		int deletedAgain = repository.deletePersonById(person0.getId());
+
+		// Then / Assert
+		assertEquals(1, deleted);
+		assertEquals(0, deletedAgain);
+	}
+
 	@DisplayName("Given Person Object When Delete then Remove Object")
 	@Test
 	void testGivenPersonObject_WhenDelete_thenRemovePerson() {
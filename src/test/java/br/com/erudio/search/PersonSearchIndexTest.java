@@ -0,0 +1,170 @@
+package br.com.erudio.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.data.vo.v1.PersonSearchPageVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+
+public class PersonSearchIndexTest {
+
+	private PersonSearchIndex searchIndex;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		searchIndex = new PersonSearchIndex();
+		searchIndex.index(List.of(
+				new Person(1L, "Leandro", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male", "leandro@erudio.com.br"),
+				new Person(2L, "Leonardo", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male", "leonardo@erudio.com.br"),
+				new Person(3L, "Gabriela", "Rodrigues", "São Paulo - Brasil", "Female", "gabi@erudio.com.br")));
+		searchIndex.refresh();
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		searchIndex.close();
+	}
+
+	@DisplayName("Given Indexed People When Search By Prefix then Return Matching People")
+	@Test
+	void testGivenIndexedPeople_WhenSearchByPrefix_thenReturnMatchingPeople() {
+		// When / Act
+		PersonSearchPageVO result = searchIndex.search("leo cos", 0, 10);
+
+		// Then / Assert
+		assertEquals(1, result.getTotal());
+		assertEquals(2L, result.getPeople().get(0).id());
+		assertEquals("leonardo@erudio.com.br", result.getPeople().get(0).email());
+	}
+
+	@DisplayName("Given Indexed People When Search With Typo then Return Closest Person")
+	@Test
+	void testGivenIndexedPeople_WhenSearchWithTypo_thenReturnClosestPerson() {
+		// When / Act
+		PersonSearchPageVO result = searchIndex.search("Rodrigeus", 0, 10);
+
+		// Then / Assert
+		assertEquals(1, result.getTotal());
+		assertEquals("Gabriela", result.getPeople().get(0).firstName());
+	}
+
+	@DisplayName("Given Indexed People When Search then Rank Exact Matches Before Prefixes And Page Results")
+	@Test
+	void testGivenIndexedPeople_WhenSearch_thenRankExactMatchesBeforePrefixesAndPageResults() {
+		// Given / Arrange
+		searchIndex.index(new Person(4L, "Maria", "Costallat", "Rio de Janeiro - Brasil", "Female", "maria@erudio.com.br"));
+		searchIndex.refresh();
+
+		// When / Act
+		PersonSearchPageVO firstPage = searchIndex.search("costa", 0, 2);
+		PersonSearchPageVO secondPage = searchIndex.search("costa", 1, 2);
+
+		// Then / Assert
+		assertEquals(3, firstPage.getTotal());
+		assertEquals(List.of(1L, 2L), firstPage.getPeople().stream().map(PersonView::id).sorted().toList());
+		assertEquals(1, secondPage.getPeople().size());
+		assertEquals(4L, secondPage.getPeople().get(0).id());
+	}
+
+	@DisplayName("Given More Than A Thousand Hits When Search then Return The Exact Total")
+	@Test
+	void testGivenMoreThanAThousandHits_WhenSearch_thenReturnTheExactTotal() {
+		// Given / Arrange
+		searchIndex.index(LongStream.rangeClosed(10, 1509)
+				.mapToObj(id -> new Person(id, "Person" + id, "Costa", "Brasil", "Male", "person" + id + "@erudio.com.br"))
+				.toList());
+		searchIndex.refresh();
+
+		// When / Act
+		PersonSearchPageVO result = searchIndex.search("costa", 0, 10);
+
+		// Then / Assert
+		assertEquals(1502, result.getTotal());
+		assertEquals(10, result.getPeople().size());
+	}
+
+	@DisplayName("Given Deleted Person When Search then Not Return It")
+	@Test
+	void testGivenDeletedPerson_WhenSearch_thenNotReturnIt() {
+		// Given / Arrange
+		searchIndex.delete(3L);
+		searchIndex.refresh();
+
+		// When / Act
+		PersonSearchPageVO result = searchIndex.search("gabriela", 0, 10);
+
+		// Then / Assert
+		assertTrue(result.getPeople().isEmpty());
+	}
+
+	@DisplayName("Given Indexed Change When Not Refreshed Yet then Search The Previous State")
+	@Test
+	void testGivenIndexedChange_WhenNotRefreshedYet_thenSearchThePreviousState() {
+		// Given / Arrange
+		searchIndex.index(new Person(3L, "Gabriela", "Souza", "São Paulo - Brasil", "Female", "gabi@erudio.com.br"));
+
+		// When / Act
+		PersonSearchPageVO beforeRefresh = searchIndex.search("souza", 0, 10);
+		searchIndex.refresh();
+		PersonSearchPageVO afterRefresh = searchIndex.search("souza", 0, 10);
+
+		// Then / Assert
+		assertEquals(0, beforeRefresh.getTotal());
+		assertEquals(1, afterRefresh.getTotal());
+	}
+
+	@DisplayName("Given Page Past Int Range When Search then Return Empty Page")
+	@Test
+	void testGivenPagePastIntRange_WhenSearch_thenReturnEmptyPage() {
+		// When / Act
+		PersonSearchPageVO result = searchIndex.search("costa", Integer.MAX_VALUE / 10, 100);
+
+		// Then / Assert
+		assertEquals(0, result.getTotal());
+		assertTrue(result.getPeople().isEmpty());
+	}
+
+	@DisplayName("Given Changes During Rebuild When Rebuild Finishes then Keep The Newest State")
+	@Test
+	void testGivenChangesDuringRebuild_WhenRebuildFinishes_thenKeepTheNewestState() {
+		// Given / Arrange
+		PersonRepository repository = mock(PersonRepository.class);
+		ReflectionTestUtils.setField(searchIndex, "repository", repository);
+		Person renamed = new Person(2L, "Leonel", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male",
+				"leonardo@erudio.com.br");
+		when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenAnswer(invocation -> {
+			// Committed after the page below was read from the table
+			searchIndex.delete(1L);
+			searchIndex.index(renamed);
+			return List.of(
+					new Person(1L, "Leandro", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male", "leandro@erudio.com.br"),
+					new Person(2L, "Leonardo", "Costa", "Uberlândia - Minas Gerais - Brasil", "Male", "leonardo@erudio.com.br"));
+		});
+
+		// When / Act
+		searchIndex.rebuild();
+		PersonSearchPageVO result = searchIndex.search("costa", 0, 10);
+
+		// Then / Assert
+		assertEquals(1, result.getTotal());
+		assertEquals("Leonel", result.getPeople().get(0).firstName());
+	}
+
+}
@@ -0,0 +1,149 @@
+package br.com.erudio.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.bloom.PersonEmailFilter;
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.model.Person;
+import br.com.erudio.outbox.PersonOutbox;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+
+// Only the caching proxy around PersonService, with the cache manager wrapped the way CacheConfig
+// wraps Boot's; transactions are simulated by driving the synchronizations by hand
+@SpringJUnitConfig
+public class PersonServiceCacheTest {
+
+	@Configuration
+	@Import({ CacheConfig.class, PersonService.class })
+	static class Config {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new CaffeineCacheManager(CacheConfig.PERSON_CACHE);
+		}
+
+	}
+
+	@Autowired
+	private PersonService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockBean
+	private PersonRepository repository;
+
+	@MockBean
+	private PersonSearchIndex searchIndex;
+
+	@MockBean
+	private PersonEmailFilter emailFilter;
+
+	@MockBean
+	private PersonOutbox outbox;
+
+	@MockBean
+	private EntityManagerFactory entityManagerFactory;
+
+	@MockBean
+	private TransactionTemplate transactionTemplate;
+
+	private Person person0;
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		person0 = new Person(1L, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+		person0.setVersion(0L);
+		when(repository.findViewById(1L)).thenReturn(Optional.of(PersonView.of(person0)));
+		cache().clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@DisplayName("JUnit Test for Given Cached Person When Find By Id Again Then Skip Repository")
+	@Test
+	void testGivenCachedPerson_WhenFindByIdAgain_thenSkipRepository() {
+		// When / Act
+		PersonView first = service.findById(1L);
+		PersonView second = service.findById(1L);
+
+		// Then / Assert
+		assertEquals(first, second);
+		assertNotNull(cache().get(1L));
+		verify(repository, times(1)).findViewById(1L);
+	}
+
+	@DisplayName("JUnit Test for Given Cached Person When Update In Transaction Then Evict Only After Commit")
+	@Test
+	void testGivenCachedPerson_WhenUpdateInTransaction_thenEvictOnlyAfterCommit() {
+		// Given / Arrange
+		service.findById(1L);
+		when(repository.updatePerson(anyLong(), anyString(), anyString(), anyString(), anyString(), anyString(), any(), any()))
+				.thenReturn(1);
+		TransactionSynchronizationManager.initSynchronization();
+
+		// When / Act
+		service.update(person0);
+
+		// Then / Assert
+		assertNotNull(cache().get(1L));
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		assertNull(cache().get(1L));
+	}
+
+	@DisplayName("JUnit Test for Given Cached Person When Delete Then Evict And Find By Id Reads Repository")
+	@Test
+	void testGivenCachedPerson_WhenDelete_thenEvictAndFindByIdReadsRepository() {
+		// Given / Arrange
+		service.findById(1L);
+		when(repository.deletePersonById(1L)).thenReturn(1);
+
+		// When / Act
+		service.delete(1L);
+		service.findById(1L);
+
+		// Then / Assert
+		verify(repository, times(2)).findViewById(1L);
+	}
+
+	private Cache cache() {
+		return cacheManager.getCache(CacheConfig.PERSON_CACHE);
+	}
+
+}
@@ -5,16 +5,25 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,11 +31,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.erudio.bloom.PersonEmailFilter;
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonView;
+import br.com.erudio.exceptions.BadRequestException;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Person;
+import br.com.erudio.outbox.PersonOutbox;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 public class PersonServiceTest {
@@ -34,6 +56,21 @@ public class PersonServiceTest {
 	@Mock
 	private PersonRepository repository;
 
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private PersonSearchIndex searchIndex;
+
+	@Mock
+	private PersonEmailFilter emailFilter;
+
+	@Mock
+	private PersonOutbox outbox;
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
 	@InjectMocks
 	private PersonService service;
 
@@ -49,8 +86,7 @@ public class PersonServiceTest {
 	@Test
 	void testGivenPersonObject_WhenSavePerson_thenReturnPersonObject() {
 		// Given / Arrange
-		when(repository.findByEmail(anyString())).thenReturn(Optional.empty());
-		when(repository.save(person0)).thenReturn(person0);
+		when(repository.saveAndFlush(person0)).thenReturn(person0);
 
 		// When / Act
 		Person savedPerson = service.create(person0);
@@ -58,21 +94,189 @@ public class PersonServiceTest {
 		// Then / Assert
 		assertNotNull(savedPerson);
 		assertEquals("Leandro", savedPerson.getFirstName());
+		verify(outbox).created(person0);
 	}
 
 	@DisplayName("JUnit Test for Given Existing Person Object When Save Person Then Return Exception")
 	@Test
 	void testGivenExistingPersonObject_WhenSavePerson_thenThrowsException() {
 		// Given / Arrange
-		when(repository.findByEmail(anyString())).thenReturn(Optional.of(person0));
+		when(repository.saveAndFlush(person0)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+				new SQLIntegrityConstraintViolationException(
+						"Duplicate entry 'leandro@erudio.com.br' for key 'person.uk_person_email'")));
 
 		// When / Act
 		assertThrows(ResourceNotFoundException.class, () -> {
 			service.create(person0);
 		});
+		verify(outbox, never()).created(any(Person.class));
+	}
+
+	@DisplayName("JUnit Test for Given Invalid Person Object When Save Person Then Rethrow Exception")
+	@Test
+	void testGivenInvalidPersonObject_WhenSavePerson_thenRethrowsException() {
+		// Given / Arrange
+		person0.setFirstName(null);
+		when(repository.saveAndFlush(person0)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+				new SQLIntegrityConstraintViolationException("Column 'first_name' cannot be null")));
+
+		// When / Act
+		assertThrows(DataIntegrityViolationException.class, () -> {
+			service.create(person0);
+		});
+	}
+
+	@DisplayName("JUnit Test for Given Person Batch When Create All Then Reject Duplicated E-mails")
+	@Test
+	void testGivenPersonBatch_WhenCreateAll_thenRejectDuplicatedEmails() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+		Person person2 = new Person("Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+		Person person3 = new Person("Gabriela", "Rodrigues", "São Paulo", "Female", "jean.juba@sulprint.com.br");
+
+		when(emailFilter.mightExist(anyString())).thenReturn(true);
+		when(repository.findEmailsIn(anyCollection())).thenReturn(List.of("leandro@erudio.com.br"));
+
+		// When / Act
+		List<PersonBatchResultVO> results = service.createAll(List.of(person1, person2, person3));
+
+		// Then / Assert
+		assertEquals(3, results.size());
+		assertEquals(PersonBatchResultVO.Status.CREATED, results.get(0).getStatus());
+		assertEquals(PersonBatchResultVO.Status.REJECTED, results.get(1).getStatus());
+		assertEquals(PersonBatchResultVO.Status.REJECTED, results.get(2).getStatus());
+		verify(repository, times(1)).findEmailsIn(anyCollection());
+		verify(repository, times(1)).saveAll(List.of(person1));
+	}
+
+	@DisplayName("JUnit Test for Given E-mail Missing From Filter When Create All Then Create Each Person On Its Own")
+	@Test
+	void testGivenEmailMissingFromFilter_WhenCreateAll_thenCreateEachPersonOnItsOwn() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+		Person person2 = new Person("Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+		DataIntegrityViolationException duplicated = new DataIntegrityViolationException("could not execute statement",
+				new SQLIntegrityConstraintViolationException(
+						"Duplicate entry 'leandro@erudio.com.br' for key 'person.uk_person_email'"));
+
+		// Inserted by another instance, so this filter has never seen it
+		when(emailFilter.mightExist(anyString())).thenReturn(false);
+		doThrow(duplicated).when(repository).flush();
+		// Person equals by id, both are still unsaved
+		when(repository.saveAndFlush(any(Person.class))).thenAnswer(invocation -> {
+			Person person = invocation.getArgument(0);
+			if (person == person2) {
+				throw duplicated;
+			}
+			return person;
+		});
+
+		// When / Act
+		List<PersonBatchResultVO> results = service.createAll(List.of(person1, person2));
+
+		// Then / Assert
+		assertEquals(PersonBatchResultVO.Status.CREATED, results.get(0).getStatus());
+		assertEquals(PersonBatchResultVO.Status.REJECTED, results.get(1).getStatus());
+		assertEquals("Person already exists with given e-mail: leandro@erudio.com.br", results.get(1).getMessage());
+		verify(transactionTemplate, times(3)).execute(any());
+		verify(outbox).created(person1);
+		verify(searchIndex).index(person1);
+	}
+
+	@DisplayName("JUnit Test for Given Other Constraint Violation When Create All Then Throws Exception")
+	@Test
+	void testGivenOtherConstraintViolation_WhenCreateAll_thenThrowsException() {
+		// Given / Arrange
+		Person person1 = new Person(null, "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+
+		when(emailFilter.mightExist(anyString())).thenReturn(false);
+		doThrow(new DataIntegrityViolationException("could not execute statement",
+				new SQLIntegrityConstraintViolationException("Column 'first_name' cannot be null")))
+				.when(repository).flush();
+
+		// When / Act
+		assertThrows(DataIntegrityViolationException.class, () -> service.createAll(List.of(person1)));
+
+		// Then / Assert
+		verify(repository, never()).saveAndFlush(any(Person.class));
+	}
+
+	@DisplayName("JUnit Test for Given E-mails Differing In Case When Create All Then Reject Them As Duplicates")
+	@Test
+	void testGivenEmailsDifferingInCase_WhenCreateAll_thenRejectThemAsDuplicates() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "Jean.Juba@sulprint.com.br");
+		Person person2 = new Person("Leandro", "Costa", "Uberlândia", "Male", "LEANDRO@erudio.com.br");
+		Person person3 = new Person("Gabriela", "Rodrigues", "São Paulo", "Female", "jean.juba@SULPRINT.com.br");
+
+		when(emailFilter.mightExist(anyString())).thenReturn(true);
+		when(repository.findEmailsIn(Set.of("jean.juba@sulprint.com.br", "leandro@erudio.com.br")))
+				.thenReturn(List.of("Leandro@Erudio.com.br"));
+
+		// When / Act
+		List<PersonBatchResultVO> results = service.createAll(List.of(person1, person2, person3));
+
+		// Then / Assert
+		assertEquals(PersonBatchResultVO.Status.CREATED, results.get(0).getStatus());
+		assertEquals(PersonBatchResultVO.Status.REJECTED, results.get(1).getStatus());
+		assertEquals(PersonBatchResultVO.Status.REJECTED, results.get(2).getStatus());
+		verify(repository, times(1)).saveAll(List.of(person1));
+	}
+
+	@DisplayName("JUnit Test for Given Ready Filter When Create All Then Record False Positives Per Distinct E-mail")
+	@Test
+	void testGivenReadyFilter_WhenCreateAll_thenRecordFalsePositivesPerDistinctEmail() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+		Person person2 = new Person("Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br");
+		Person person3 = new Person("Gabriela", "Rodrigues", "São Paulo", "Female", "Jean.Juba@sulprint.com.br");
+
+		when(emailFilter.isReady()).thenReturn(true);
+		when(emailFilter.mightExist(anyString())).thenReturn(true);
+		when(repository.findEmailsIn(anyCollection())).thenReturn(List.of("leandro@erudio.com.br"));
+
+		// When / Act
+		service.createAll(List.of(person1, person2, person3));
+
+		// Then / Assert
+		verify(emailFilter, times(1)).mightExist("jean.juba@sulprint.com.br");
+		verify(emailFilter).recordFalsePositives(1);
+	}
+
+	@DisplayName("JUnit Test for Given Filter Not Ready When Create All Then Record No False Positives")
+	@Test
+	void testGivenFilterNotReady_WhenCreateAll_thenRecordNoFalsePositives() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+
+		when(emailFilter.mightExist(anyString())).thenReturn(true);
+		when(repository.findEmailsIn(anyCollection())).thenReturn(List.of());
+
+		// When / Act
+		service.createAll(List.of(person1));
+
+		// Then / Assert
+		verify(emailFilter, never()).recordFalsePositives(anyInt());
+	}
+
+	@DisplayName("JUnit Test for Given New E-mails When Create All Then Skip Duplicate Check Query")
+	@Test
+	void testGivenNewEmails_WhenCreateAll_thenSkipDuplicateCheckQuery() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+		Person person2 = new Person("Gabriela", "Rodrigues", "São Paulo", "Female", "gabi@erudio.com.br");
+
+		when(emailFilter.mightExist(anyString())).thenReturn(false);
+
+		// When / Act
+		List<PersonBatchResultVO> results = service.createAll(List.of(person1, person2));
 
 		// Then / Assert
-		verify(repository, never()).save(any(Person.class));
+		assertEquals(PersonBatchResultVO.Status.CREATED, results.get(0).getStatus());
+		assertEquals(PersonBatchResultVO.Status.CREATED, results.get(1).getStatus());
+		verify(repository, never()).findEmailsIn(anyCollection());
+		verify(emailFilter).add("jean.juba@sulprint.com.br");
+		verify(emailFilter).add("gabi@erudio.com.br");
 	}
 
 	@DisplayName("JUnit Test for Given Person List When Find All Person Then Return Person List")
@@ -82,10 +286,10 @@ public class PersonServiceTest {
 
 		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
 
-		when(repository.findAll()).thenReturn(List.of(person0, person1));
+		when(repository.findAllViews()).thenReturn(List.of(PersonView.of(person0), PersonView.of(person1)));
 
 		// When / Act
-		List<Person> personList = service.findAll();
+		List<PersonView> personList = service.findAll();
 
 		// Then / Assert
 		assertNotNull(personList);
@@ -97,42 +301,97 @@ public class PersonServiceTest {
 	void testGivenEmptyPersonList_WhenFindAllPerson_thenReturnEmptyPersonList() {
 		// Given / Arrange
 
-		when(repository.findAll()).thenReturn(Collections.emptyList());
+		when(repository.findAllViews()).thenReturn(Collections.emptyList());
 
 		// When / Act
-		List<Person> personList = service.findAll();
+		List<PersonView> personList = service.findAll();
 
 		// Then / Assert
 		assertTrue(personList.isEmpty());
 		assertEquals(0, personList.size());
 	}
 	
+	@DisplayName("JUnit Test for Given Oversized Limit When Find After then Cap Page Size")
+	@Test
+	void testGivenOversizedLimit_WhenFindAfter_thenCapPageSize() {
+		// Given / Arrange
+		when(repository.findViewsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(PersonView.of(person0)));
+
+		// When / Act
+		List<PersonView> page = service.findAfter(null, 1_000_000);
+
+		// Then / Assert
+		assertEquals(1, page.size());
+		verify(repository).findViewsAfter(0L, Limit.of(PersonService.MAX_PAGE_SIZE));
+	}
+
+	@DisplayName("JUnit Test for Given Person Stream When Export All then Consume Every Person")
+	@Test
+	void testGivenPersonStream_WhenExportAll_thenConsumeEveryPerson() {
+		// Given / Arrange
+		Person person1 = new Person("Jean", "Juba", "Santa Cruz Do Sul", "Male", "jean.juba@sulprint.com.br");
+		when(repository.streamAll()).thenReturn(Stream.of(person0, person1));
+
+		// When / Act
+		List<Person> exported = new ArrayList<>();
+		service.exportAll(exported::add);
+
+		// Then / Assert
+		assertEquals(List.of(person0, person1), exported);
+	}
+
 	@DisplayName("JUnit Test for Given Person Id When FindById then Return Person Object")
 	@Test
 	void testGivenPersonId_WhenFindById_thenReturnPersonObject() {
 		// Given / Arrange
-		when(repository.findById(anyLong())).thenReturn(Optional.of(person0));
+		when(repository.findViewById(anyLong())).thenReturn(Optional.of(PersonView.of(person0)));
 
 		// When / Act
-		Person savedPerson = service.findById(1L);
+		PersonView savedPerson = service.findById(1L);
 
 		// Then / Assert
 		assertNotNull(savedPerson);
-		assertEquals("Leandro", savedPerson.getFirstName());
+		assertEquals("Leandro", savedPerson.firstName());
+	}
+
+	@DisplayName("JUnit Test for Given Fields When FindById then Select Only Those Fields")
+	@Test
+	void testGivenFields_WhenFindById_thenSelectOnlyThoseFields() {
+		// Given / Arrange
+		Set<String> fields = PersonService.fields("email, firstName");
+		when(repository.selectFieldsById(1L, fields)).thenReturn(
+				Optional.of(new PersonView(null, "Leandro", null, null, null, "leandro@erudio.com.br", null, null)));
+
+		// When / Act
+		PersonView foundPerson = service.findById(1L, fields);
+
+		// Then / Assert
+		assertEquals(List.of("email", "firstName"), List.copyOf(fields));
+		assertEquals("leandro@erudio.com.br", foundPerson.email());
+		verify(repository, never()).findViewById(anyLong());
+	}
+
+	@DisplayName("JUnit Test for Given Unknown Field When Parse Fields then Throws Bad Request")
+	@Test
+	void testGivenUnknownField_WhenParseFields_thenThrowsBadRequest() {
+		// When / Act
+		assertThrows(BadRequestException.class, () -> {
+			PersonService.fields("firstName,lastModified");
+		});
 	}
 	
 	@DisplayName("JUnit Test for Given Person Object When Update Person then Return Updated Person Object")
 	@Test
 	void testGivenPersonObject_WhenUpdatePerson_thenReturnUpdatedPersonObject() {
 		// Given / Arrange
-		when(repository.findById(anyLong())).thenReturn(Optional.of(person0));
-		
 		person0.setId(1L);
 		person0.setEmail("leandro@erudio.com.br");
 		person0.setFirstName("Leonardo");
-		
-		when(repository.save(person0)).thenReturn(person0);
-		
+
+		when(repository.updatePerson(anyLong(), anyString(), anyString(), anyString(), anyString(), anyString(), any(), any()))
+				.thenReturn(1);
+		when(repository.findVersionById(1L)).thenReturn(4L);
+
 		// When / Act
 		Person updatedPerson = service.update(person0);
 
@@ -140,6 +399,39 @@ public class PersonServiceTest {
 		assertNotNull(updatedPerson);
 		assertEquals("Leonardo", updatedPerson.getFirstName());
 		assertEquals("leandro@erudio.com.br", updatedPerson.getEmail());
+		assertEquals(4L, updatedPerson.getVersion());
+		verify(repository, never()).findById(anyLong());
+		verify(outbox).updated(person0);
+	}
+
+	@DisplayName("JUnit Test for Given Unexistent Person When Update Person then Throws Not Found")
+	@Test
+	void testGivenUnexistentPerson_WhenUpdatePerson_thenThrowsNotFound() {
+		// Given / Arrange
+		person0.setId(1L);
+		when(repository.updatePerson(anyLong(), anyString(), anyString(), anyString(), anyString(), anyString(), any(), any()))
+				.thenReturn(0);
+
+		// When / Act
+		assertThrows(ResourceNotFoundException.class, () -> {
+			service.update(person0);
+		});
+	}
+
+	@DisplayName("JUnit Test for Given Stale Version When Update Person then Throws Conflict")
+	@Test
+	void testGivenStaleVersion_WhenUpdatePerson_thenThrowsConflict() {
+		// Given / Arrange
+		person0.setId(1L);
+		person0.setVersion(3L);
+		when(repository.updatePerson(anyLong(), anyString(), anyString(), anyString(), anyString(), anyString(), any(), any()))
+				.thenReturn(0);
+		when(repository.existsById(1L)).thenReturn(true);
+
+		// When / Act
+		assertThrows(ResourceConflictException.class, () -> {
+			service.update(person0);
+		});
 	}
 
 	@DisplayName("JUnit Test for Given Person Id When Delete Person hen Do Nothing")
@@ -147,13 +439,40 @@ public class PersonServiceTest {
 	void testGivenPersonId_WhenDeletePerson_thenDoNothing() {
 		// Given / Arrange
 		person0.setId(1L);
-		when(repository.findById(anyLong())).thenReturn(Optional.of(person0));
+		when(repository.deletePersonById(anyLong())).thenReturn(1);
 		
 		// When / Act
 		service.delete(person0.getId());
 
 		// Then / Assert
-		verify(repository, times(1)).delete(person0);
+		verify(repository, times(1)).deletePersonById(person0.getId());
+		verify(repository, never()).findById(anyLong());
+		verify(outbox).deleted(person0.getId());
 	}
-	
+
+	@DisplayName("JUnit Test for Given Unexistent Person Id When Delete Person then Throws Not Found")
+	@Test
+	void testGivenUnexistentPersonId_WhenDeletePerson_thenThrowsNotFound() {
+		// Given / Arrange
+		when(repository.deletePersonById(anyLong())).thenReturn(0);
+
+		// When / Act
+		assertThrows(ResourceNotFoundException.class, () -> {
+			service.delete(1L);
+		});
+	}
+
+	@DisplayName("JUnit Test for Given Stale Version When Delete Person then Throws Conflict")
+	@Test
+	void testGivenStaleVersion_WhenDeletePerson_thenThrowsConflict() {
+		// Given / Arrange
+		when(repository.deletePersonByIdAndVersion(1L, 2L)).thenReturn(0);
+		when(repository.existsById(1L)).thenReturn(true);
+
+		// When / Act
+		assertThrows(ResourceConflictException.class, () -> {
+			service.delete(1L, 2L);
+		});
+	}
+
 }
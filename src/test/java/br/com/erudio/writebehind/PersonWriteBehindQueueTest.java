@@ -0,0 +1,176 @@
+package br.com.erudio.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonWriteStatusVO;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonService;
+
+public class PersonWriteBehindQueueTest {
+
+	@TempDir
+	private Path directory;
+
+	private PersonService personService;
+
+	private List<PersonWriteBehindQueue> queues = new ArrayList<>();
+
+	@BeforeEach
+	public void setup() {
+		// Given / Arrange
+		personService = mock(PersonService.class);
+		when(personService.createAll(anyList())).thenAnswer(PersonWriteBehindQueueTest::createAll);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		for (PersonWriteBehindQueue queue : queues) {
+			queue.stop();
+		}
+	}
+
+	@DisplayName("Given Queued Person When Batch Is Flushed then Report Created With Id")
+	@Test
+	void testGivenQueuedPerson_WhenBatchIsFlushed_thenReportCreatedWithId() throws Exception {
+		// Given / Arrange
+		PersonWriteBehindQueue queue = start(10, personService);
+
+		// When / Act
+		PersonWriteStatusVO queued = queue.enqueue(newPerson(1));
+
+		// Then / Assert
+		assertEquals(PersonWriteStatusVO.Status.QUEUED, queued.getStatus());
+		awaitStatus(queue, queued.getTicket(), PersonWriteStatusVO.Status.CREATED);
+		assertEquals(1L, queue.status(queued.getTicket()).getId());
+	}
+
+	@DisplayName("Given Full Queue When Enqueue then Throws Too Many Requests")
+	@Test
+	void testGivenFullQueue_WhenEnqueue_thenThrowsTooManyRequests() throws Exception {
+		// Given / Arrange
+		CountDownLatch release = new CountDownLatch(1);
+		when(personService.createAll(anyList())).thenAnswer(invocation -> {
+			release.await(10, TimeUnit.SECONDS);
+			return createAll(invocation);
+		});
+		PersonWriteBehindQueue queue = start(1, personService);
+
+		// The first person is taken by the batcher, which then waits on the latch
+		queue.enqueue(newPerson(1));
+		await(() -> queue.size() == 0);
+		queue.enqueue(newPerson(2));
+
+		// When / Act
+		assertThrows(TooManyRequestsException.class, () -> {
+			queue.enqueue(newPerson(3));
+		});
+		release.countDown();
+	}
+
+	@DisplayName("Given Unflushed People When Restarted then Recover Them From The Write-Ahead Log")
+	@Test
+	void testGivenUnflushedPeople_WhenRestarted_thenRecoverThemFromTheWriteAheadLog() throws Exception {
+		// Given / Arrange
+		PersonService unavailable = mock(PersonService.class);
+		when(unavailable.createAll(anyList())).thenThrow(new IllegalStateException("database is down"));
+
+		PersonWriteBehindQueue first = start(10, unavailable);
+		PersonWriteStatusVO queued = first.enqueue(newPerson(1));
+		first.stop();
+		queues.remove(first);
+
+		// When / Act
+		PersonWriteBehindQueue second = start(10, personService);
+
+		// Then / Assert
+		awaitStatus(second, queued.getTicket(), PersonWriteStatusVO.Status.CREATED);
+	}
+
+	@DisplayName("Given Flush Failing Unexpectedly When Batch Is Flushed then Reject It And Release The Log")
+	@Test
+	void testGivenFlushFailingUnexpectedly_WhenBatchIsFlushed_thenRejectItAndReleaseTheLog() throws Exception {
+		// Given / Arrange
+		PersonService broken = mock(PersonService.class);
+		when(broken.createAll(anyList())).thenReturn(List.of());
+
+		PersonWriteBehindQueue first = start(10, broken);
+		PersonWriteStatusVO queued = first.enqueue(newPerson(1));
+
+		// When / Act
+		awaitStatus(first, queued.getTicket(), PersonWriteStatusVO.Status.REJECTED);
+		first.stop();
+		queues.remove(first);
+		PersonWriteBehindQueue second = start(10, personService);
+
+		// Then / Assert
+		assertTrue(first.status(queued.getTicket()).getMessage().contains("IndexOutOfBoundsException"));
+		assertThrows(ResourceNotFoundException.class, () -> second.status(queued.getTicket()));
+		assertEquals(0, second.size());
+	}
+
+	private PersonWriteBehindQueue start(int capacity, PersonService service) throws Exception {
+		PersonWriteBehindQueue queue = new PersonWriteBehindQueue(directory, DataSize.ofKilobytes(1), capacity, 100,
+				Duration.ZERO, Duration.ofHours(1), 1000);
+		ReflectionTestUtils.setField(queue, "personService", service);
+		ReflectionTestUtils.setField(queue, "objectMapper", new ObjectMapper());
+		queue.start();
+		queues.add(queue);
+		return queue;
+	}
+
+	private static List<PersonBatchResultVO> createAll(InvocationOnMock invocation) {
+		List<Person> people = invocation.getArgument(0);
+		List<PersonBatchResultVO> results = new ArrayList<>();
+		for (int i = 0; i < people.size(); i++) {
+			results.add(PersonBatchResultVO.created(i, Long.valueOf(people.get(i).getEmail().replaceAll("\\D", "")),
+					people.get(i).getEmail()));
+		}
+		return results;
+	}
+
+	private static void awaitStatus(PersonWriteBehindQueue queue, String ticket, PersonWriteStatusVO.Status status)
+			throws InterruptedException {
+		await(() -> queue.status(ticket).getStatus() == status);
+		assertEquals(status, queue.status(ticket).getStatus());
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(condition.getAsBoolean());
+	}
+
+	private static Person newPerson(int number) {
+		return new Person("Leandro", "Costa", "Uberlândia", "Male", "leandro" + number + "@erudio.com.br");
+	}
+
+}